@@ -0,0 +1,133 @@
+package com.betrybe.agrix.benchmark;
+
+import com.betrybe.agrix.AgrixApplication;
+import com.betrybe.agrix.model.entities.Crop;
+import com.betrybe.agrix.model.entities.Farm;
+import com.betrybe.agrix.model.repositories.CropRepository;
+import com.betrybe.agrix.model.repositories.FarmRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Load test of GET /farms/{id}/crops with the platform thread pool and with
+ * virtual threads (api.threads.virtual), on the H2 database of the test
+ * profile. Each operation opens the given number of concurrent connections
+ * and waits for all of their responses, so requests per second are the
+ * score multiplied by the number of connections. On runtimes older than
+ * Java 21 both modes run on the platform thread pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class ConcurrentLoadBenchmark {
+
+  @Param({"false", "true"})
+  private boolean virtualThreads;
+
+  @Param({"1000"})
+  private int connections;
+
+  private ConfigurableApplicationContext context;
+
+  private HttpClient client;
+
+  private HttpRequest listCrops;
+
+  /**
+   * Starts the application in the thread mode of the parameter, creates a
+   * farm with some crops and logs in as an admin.
+   */
+  @Setup
+  public void setup() throws IOException, InterruptedException {
+    context = new SpringApplicationBuilder(AgrixApplication.class)
+        .profiles("test")
+        .run("--server.port=0", "--spring.jpa.show-sql=false",
+            "--api.query-budget.mode=OFF", "--logging.level.root=WARN",
+            "--api.threads.virtual=" + virtualThreads);
+
+    String baseUrl = "http://localhost:"
+        + ((WebServerApplicationContext) context).getWebServer().getPort();
+    Farm farm = context.getBean(FarmRepository.class)
+        .save(new Farm(null, "Fazenda Boa Vista", 10.0));
+    List<Crop> crops = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      crops.add(new Crop("Plantação " + i, 1.0, farm, LocalDate.parse("2023-01-01"),
+          LocalDate.parse("2023-03-01").plusDays(i)));
+    }
+    context.getBean(CropRepository.class).saveAll(crops);
+
+    client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/persons"))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(
+            "{\"username\": \"admin\", \"password\": \"senha\", \"role\": \"ADMIN\"}"))
+        .build(), HttpResponse.BodyHandlers.discarding());
+    String login = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(
+            "{\"username\": \"admin\", \"password\": \"senha\"}"))
+        .build(), HttpResponse.BodyHandlers.ofString()).body();
+    String token = new ObjectMapper().readTree(login).get("token").asText();
+
+    listCrops = HttpRequest.newBuilder(URI.create(baseUrl + "/farms/" + farm.getId() + "/crops"))
+        .header("Authorization", "Bearer " + token)
+        .GET()
+        .build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  /**
+   * Sends all the requests at once and waits for the responses.
+   *
+   * @return returns the number of successful responses
+   */
+  @Benchmark
+  public int concurrentRequests() {
+    List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(connections);
+    for (int i = 0; i < connections; i++) {
+      responses.add(client.sendAsync(listCrops, HttpResponse.BodyHandlers.discarding()));
+    }
+
+    int successful = 0;
+    for (CompletableFuture<HttpResponse<Void>> response : responses) {
+      if (response.join().statusCode() == 200) {
+        successful++;
+      }
+    }
+    if (successful != connections) {
+      throw new IllegalStateException(successful + " de " + connections + " requisições ok");
+    }
+    return successful;
+  }
+}
@@ -0,0 +1,104 @@
+package com.betrybe.agrix.benchmark;
+
+import com.betrybe.agrix.AgrixApplication;
+import com.betrybe.agrix.model.entities.Farm;
+import com.betrybe.agrix.model.repositories.FarmRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Latency distribution of POST /farms/{id}/crops with 8 concurrent clients,
+ * over HTTP against the application running on the H2 database of the test
+ * profile. The sample mode reports the p50, p90, p99 and p99.9 percentiles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class CropCreationBenchmark {
+
+  private static final String CROP = "{\"name\": \"Couve-flor\", \"plantedArea\": 5.43,"
+      + " \"plantedDate\": \"2022-12-05\", \"harvestDate\": \"2023-06-08\"}";
+
+  private ConfigurableApplicationContext context;
+
+  private HttpClient client;
+
+  private HttpRequest createCrop;
+
+  /**
+   * Starts the application, creates a farm and logs in as an admin.
+   */
+  @Setup
+  public void setup() throws IOException, InterruptedException {
+    context = new SpringApplicationBuilder(AgrixApplication.class)
+        .profiles("test")
+        .run("--server.port=0", "--spring.jpa.show-sql=false",
+            "--api.query-budget.mode=OFF", "--logging.level.root=WARN");
+
+    String baseUrl = "http://localhost:"
+        + ((WebServerApplicationContext) context).getWebServer().getPort();
+    Farm farm = context.getBean(FarmRepository.class)
+        .save(new Farm(null, "Fazenda Boa Vista", 10.0));
+    client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    send(HttpRequest.newBuilder(URI.create(baseUrl + "/persons"))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(
+            "{\"username\": \"admin\", \"password\": \"senha\", \"role\": \"ADMIN\"}"))
+        .build());
+    String login = send(HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(
+            "{\"username\": \"admin\", \"password\": \"senha\"}"))
+        .build());
+    String token = new ObjectMapper().readTree(login).get("token").asText();
+
+    createCrop = HttpRequest.newBuilder(URI.create(baseUrl + "/farms/" + farm.getId() + "/crops"))
+        .header("Content-Type", "application/json")
+        .header("Authorization", "Bearer " + token)
+        .POST(HttpRequest.BodyPublishers.ofString(CROP))
+        .build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  private String send(HttpRequest request) throws IOException, InterruptedException {
+    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() >= 300) {
+      throw new IllegalStateException(request.uri() + " respondeu " + response.statusCode());
+    }
+    return response.body();
+  }
+
+  @Benchmark
+  public String createCrop() throws IOException, InterruptedException {
+    return send(createCrop);
+  }
+}
@@ -0,0 +1,55 @@
+package com.betrybe.agrix.benchmark;
+
+import com.betrybe.agrix.controller.dto.CropResponseDto;
+import com.betrybe.agrix.controller.dto.CropsDto;
+import com.betrybe.agrix.model.entities.Crop;
+import com.betrybe.agrix.model.entities.Farm;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of converting the crop request body into an entity, which parses both
+ * dates, and of converting an entity into the response data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CropMappingBenchmark {
+
+  private Farm farm;
+
+  private CropsDto cropsDto;
+
+  private Crop crop;
+
+  @Setup
+  public void setup() {
+    farm = new Farm(1L, "Fazenda Boa Vista", 10.0);
+    cropsDto = new CropsDto("Couve-flor", 5.43, "2022-12-05", "2023-06-08");
+    crop = new Crop("Couve-flor", 5.43, farm, LocalDate.parse("2022-12-05"),
+        LocalDate.parse("2023-06-08"));
+  }
+
+  @Benchmark
+  public Crop toCrop() {
+    return cropsDto.toCrop(farm);
+  }
+
+  @Benchmark
+  public CropResponseDto fromCrop() {
+    return CropResponseDto.fromCrop(crop);
+  }
+}
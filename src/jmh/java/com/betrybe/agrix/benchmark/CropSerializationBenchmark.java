@@ -0,0 +1,63 @@
+package com.betrybe.agrix.benchmark;
+
+import com.betrybe.agrix.controller.dto.CropResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Cost of serializing the GET /crops response for lists of different sizes,
+ * with the same date format as the application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CropSerializationBenchmark {
+
+  @Param({"10", "100", "1000", "10000"})
+  private int size;
+
+  private ObjectWriter writer;
+
+  private List<CropResponseDto> crops;
+
+  @Setup
+  public void setup() {
+    writer = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build()
+        .writerFor(new TypeReference<List<CropResponseDto>>() {});
+
+    LocalDate plantedDate = LocalDate.parse("2022-12-05");
+    crops = new ArrayList<>(size);
+    for (long i = 1; i <= size; i++) {
+      crops.add(new CropResponseDto(i, "Plantação " + i, 5.43, i % 10 + 1,
+          plantedDate, plantedDate.plusDays(i % 365)));
+    }
+  }
+
+  @Benchmark
+  public byte[] serializeList() throws JsonProcessingException {
+    return writer.writeValueAsBytes(crops);
+  }
+}
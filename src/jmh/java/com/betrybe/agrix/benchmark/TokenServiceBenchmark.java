@@ -0,0 +1,76 @@
+package com.betrybe.agrix.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.betrybe.agrix.ebytr.staff.entity.Person;
+import com.betrybe.agrix.ebytr.staff.service.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of generating and validating tokens. validateTokenPerCallVerifier is the
+ * previous implementation, which built the algorithm and the verifier on every call;
+ * verifySharedVerifier is the cost of a cache miss in TokenService.validateToken.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+  private static final String SECRET = "lilas";
+
+  private TokenService tokenService;
+
+  private JWTVerifier sharedVerifier;
+
+  private Person person;
+
+  private String token;
+
+  @Setup
+  public void setup() {
+    tokenService = new TokenService(SECRET, 10_000, new SimpleMeterRegistry());
+    sharedVerifier = JWT.require(Algorithm.HMAC256(SECRET)).withIssuer("agrix").build();
+    person = new Person("maria", "senhasecreta", "USER");
+    token = tokenService.generateToken(person);
+  }
+
+  @Benchmark
+  public String generateToken() {
+    return tokenService.generateToken(person);
+  }
+
+  @Benchmark
+  public String validateTokenPerCallVerifier() {
+    Algorithm algorithm = Algorithm.HMAC256(SECRET);
+    return JWT.require(algorithm)
+        .withIssuer("agrix")
+        .build()
+        .verify(token)
+        .getSubject();
+  }
+
+  @Benchmark
+  public String verifySharedVerifier() {
+    return sharedVerifier.verify(token).getSubject();
+  }
+
+  @Benchmark
+  public String validateTokenCached() {
+    return tokenService.validateToken(token);
+  }
+}
@@ -4,12 +4,14 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Application main class.
  */
 @SpringBootApplication
 @ComponentScan("com.betrybe.agrix")
+@EnableScheduling
 public class AgrixApplication {
   public static void main(String[] args) {
     SpringApplication.run(AgrixApplication.class, args);
@@ -1,24 +1,42 @@
 package com.betrybe.agrix.controller;
 
 import com.betrybe.agrix.controller.dto.CropResponseDto;
+import com.betrybe.agrix.controller.dto.HarvestCalendarEntryDto;
+import com.betrybe.agrix.exceptions.CalendarNotLoadedException;
 import com.betrybe.agrix.exceptions.CropNotFoundException;
 import com.betrybe.agrix.exceptions.FertilizerNotFoundException;
 import com.betrybe.agrix.model.entities.Crop;
 import com.betrybe.agrix.model.entities.Fertilizer;
 import com.betrybe.agrix.service.CropService;
 import com.betrybe.agrix.service.FertilizerService;
+import com.betrybe.agrix.util.CalendarGranularity;
+import com.betrybe.agrix.util.EntityTags;
+import com.betrybe.agrix.util.KeysetPagination;
+import com.betrybe.agrix.util.QueryBudget;
+import com.betrybe.agrix.util.SearchLimits;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Controller of all methods in the /crops route.
@@ -26,61 +44,111 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 @RequestMapping("/crops")
 public class CropController {
+  private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
   private CropService cropService;
   private FertilizerService fertilizerService;
+  private ObjectWriter cropWriter;
 
   /**
    * CropController controller constructor.
    *
    * @param cropService receives the service layer by
    *        dependency injection.
+   * @param objectMapper mapper used to write the exported crops
    */
   @Autowired
-  public CropController(CropService cropService, FertilizerService fertilizerService) {
+  public CropController(CropService cropService, FertilizerService fertilizerService,
+      ObjectMapper objectMapper) {
     this.cropService = cropService;
     this.fertilizerService = fertilizerService;
+    this.cropWriter = objectMapper.writerFor(CropResponseDto.class)
+        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
   }
 
   /**
    * Map the GET /crops route with the function of returning a list of
-   * all the plantations in the database.
+   * all the plantations in the database, or a single page of them when
+   * the after or limit cursor parameters are sent. The full list carries
+   * the aggregate version of the crops as ETag, and is not loaded when it
+   * matches If-None-Match.
    *
+   * @param after id of the last crop of the previous page
+   * @param limit size of the page
+   * @param request request used to check the If-None-Match header
    * @return returns a CropResponseDto list of all the crops.
    */
   @GetMapping
   @Secured({"ROLE_ADMIN", "ROLE_MANAGER"})
-  public ResponseEntity<List<CropResponseDto>> getAllCrops() {
+  @QueryBudget(2)
+  public ResponseEntity<List<CropResponseDto>> getAllCrops(
+      @RequestParam(required = false) Long after,
+      @RequestParam(required = false) Integer limit, WebRequest request) {
+
+    if (KeysetPagination.isRequested(after, limit)) {
+      Pageable pageable = KeysetPagination.orderedById(limit);
+      List<CropResponseDto> page = this.cropService
+          .getCropsAfter(KeysetPagination.cursor(after), pageable);
 
-    List<Crop> allCrops = this.cropService.getAllCrops();
+      return KeysetPagination.response(page, pageable, CropResponseDto::id);
+    }
+
+    String etag = EntityTags.of(this.cropService.getCropsVersion());
+    // checkNotModified also writes the ETag header of the response
+    if (request.checkNotModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
 
-    List<CropResponseDto> cropsResponse = allCrops.stream()
-        .map(crop -> new CropResponseDto(crop.getId(), crop.getName(),
-        crop.getPlantedArea(), crop.getFarm().getId(), crop.getPlantedDate(),
-            crop.getHarverstDate()))
-        .toList();
+    List<CropResponseDto> cropsResponse = this.cropService.getAllCrops();
 
     return ResponseEntity.status(HttpStatus.OK).body(cropsResponse);
   }
 
+  /**
+   * Maps the GET /crops/export route, which streams all the plantations as
+   * newline delimited JSON without building the whole list in memory.
+   *
+   * @return returns a streamed body with one CropResponseDto per line
+   */
+  @GetMapping("/export")
+  @Secured({"ROLE_ADMIN", "ROLE_MANAGER"})
+  public ResponseEntity<StreamingResponseBody> exportCrops() {
+    StreamingResponseBody body = outputStream -> {
+      this.cropService.exportCrops(crop -> {
+        try {
+          this.cropWriter.writeValue(outputStream, CropResponseDto.fromCrop(crop));
+          outputStream.write('\n');
+        } catch (IOException exception) {
+          throw new UncheckedIOException(exception);
+        }
+      });
+      outputStream.flush();
+    };
+
+    return ResponseEntity.status(HttpStatus.OK).contentType(NDJSON).body(body);
+  }
+
   /**
    * Maps the GET /crops/id route to return the information of a crop
-   * specifies.
+   * specifies, with its version as ETag. A matching If-None-Match is
+   * answered with 304 without serializing the crop.
    *
    * @param id id of the searched crop passed by Path
    * @return returns a ResponseEntity with the specified crop or an error
    *        if it is not found.
    */
   @GetMapping("/{id}")
+  @QueryBudget(1)
   public ResponseEntity getCropById(@PathVariable Long id) {
     try {
 
       Crop cropFound = this.cropService.getCropById(id);
 
-      CropResponseDto cropResponse = new CropResponseDto(cropFound.getId(),
-          cropFound.getName(), cropFound.getPlantedArea(), cropFound.getFarm().getId(),
-          cropFound.getPlantedDate(), cropFound.getHarverstDate());
+      CropResponseDto cropResponse = CropResponseDto.fromCrop(cropFound);
 
-      return ResponseEntity.status(HttpStatus.OK).body(cropResponse);
+      return ResponseEntity.status(HttpStatus.OK)
+          .eTag(EntityTags.of(cropFound.getId(), cropFound.getVersion()))
+          .body(cropResponse);
 
     } catch (CropNotFoundException cropNotFoundException) {
 
@@ -94,25 +162,103 @@ public class CropController {
    *
    * @param start search start date
    * @param end search end date
+   * @param limit maximum number of crops returned
    * @return returns a list of crops that meet the requirement
    */
   @GetMapping("/search")
+  @QueryBudget(1)
   public ResponseEntity<List<CropResponseDto>> searchCropByDate(
       @RequestParam LocalDate start,
-      @RequestParam LocalDate end) {
-
-    List<Crop> allCrops = this.cropService.searchCropByDate(start, end);
+      @RequestParam LocalDate end,
+      @RequestParam(defaultValue = "" + SearchLimits.MAX_LIMIT) int limit) {
 
-    List<CropResponseDto> allCropsConverted = allCrops.stream()
-        .map(crop -> new CropResponseDto(crop.getId(), crop.getName(),
-            crop.getPlantedArea(), crop.getFarm().getId(), crop.getPlantedDate(),
-            crop.getHarverstDate()))
-        .toList();
+    List<CropResponseDto> allCropsConverted =
+        this.cropService.searchCropByDate(start, end, limit);
 
     return ResponseEntity.status(HttpStatus.OK).body(allCropsConverted);
 
   }
 
+  /**
+   * Route that searches the crops by their planting and harvest window: the
+   * ones in the ground at some day between the dates or, with within=true,
+   * the ones planted and harvested between them.
+   *
+   * @param start first day of the searched window
+   * @param end last day of the searched window
+   * @param within if true, only the crops entirely inside the window
+   * @param limit maximum number of crops returned
+   * @return returns a list of crops that meet the requirement
+   */
+  @GetMapping("/search/overlap")
+  @QueryBudget(1)
+  public ResponseEntity<List<CropResponseDto>> searchCropByPeriod(
+      @RequestParam LocalDate start,
+      @RequestParam LocalDate end,
+      @RequestParam(defaultValue = "false") boolean within,
+      @RequestParam(defaultValue = "" + SearchLimits.MAX_LIMIT) int limit) {
+
+    List<CropResponseDto> crops =
+        this.cropService.searchCropByPeriod(start, end, within, limit);
+
+    return ResponseEntity.status(HttpStatus.OK).body(crops);
+  }
+
+  /**
+   * Route that searches the crops by a whole or partial name, tolerating
+   * accents, case and small typos, and returns the best matches first.
+   *
+   * @param q searched name
+   * @param limit maximum number of crops returned
+   * @return returns a list of crops that meet the requirement
+   */
+  @GetMapping("/search/name")
+  @QueryBudget(1)
+  public ResponseEntity<List<CropResponseDto>> searchCropByName(
+      @RequestParam String q,
+      @RequestParam(defaultValue = "" + SearchLimits.DEFAULT_NAME_LIMIT) int limit) {
+
+    List<CropResponseDto> crops = this.cropService.searchCropByName(q, limit);
+
+    return ResponseEntity.status(HttpStatus.OK).body(crops);
+  }
+
+  /**
+   * Maps the GET /crops/calendar route, which returns how many crops and how
+   * much planted area are harvested per farm and per ISO week or month,
+   * from precomputed rollups.
+   *
+   * @param granularity week or month
+   * @param from first day of the calendar
+   * @param to last day of the calendar
+   * @param farmId farm of the calendar; all the farms when not sent
+   * @return returns one entry per farm and period with harvests
+   */
+  @GetMapping("/calendar")
+  @Secured({"ROLE_ADMIN", "ROLE_MANAGER"})
+  @QueryBudget(0)
+  public ResponseEntity getHarvestCalendar(
+      @RequestParam(defaultValue = "month") String granularity,
+      @RequestParam LocalDate from,
+      @RequestParam LocalDate to,
+      @RequestParam(required = false) Long farmId) {
+
+    Optional<CalendarGranularity> periods = CalendarGranularity.fromParam(granularity);
+    if (periods.isEmpty()) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+          .body("Granularidade inválida! Use week ou month.");
+    }
+
+    try {
+      List<HarvestCalendarEntryDto> calendar =
+          this.cropService.getHarvestCalendar(periods.get(), from, to, farmId);
+
+      return ResponseEntity.status(HttpStatus.OK).body(calendar);
+    } catch (CalendarNotLoadedException exception) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(exception.getMessage());
+    }
+  }
+
   /**
    * Method that associates planting with a fertilizer.
    *
@@ -121,12 +267,12 @@ public class CropController {
    * @return returns if the operation was successful
    */
   @PostMapping("/{cropId}/fertilizers/{fertilizerId}")
+  @QueryBudget(3)
   public ResponseEntity createFertilizerByCropId(@PathVariable Long cropId,
       @PathVariable Long fertilizerId) {
     try {
 
-      Crop cropAdded = this.cropService.setFertilizer(cropId, fertilizerId);
-      System.out.println(cropAdded);
+      this.cropService.setFertilizer(cropId, fertilizerId);
 
       return ResponseEntity.status(HttpStatus.CREATED).body(
           "Fertilizante e plantação associados com sucesso!"
@@ -147,6 +293,39 @@ public class CropController {
 
   }
 
+  /**
+   * Method that associates a plantation with several fertilizers at once.
+   *
+   * @param cropId id of the crop to be associated
+   * @param fertilizerIds ids of the fertilizers to be associated
+   * @return returns if the operation was successful
+   */
+  @PostMapping("/{cropId}/fertilizers")
+  @QueryBudget(3)
+  public ResponseEntity createFertilizersByCropId(@PathVariable Long cropId,
+      @RequestBody List<Long> fertilizerIds) {
+    try {
+
+      this.cropService.setFertilizers(cropId, fertilizerIds);
+
+      return ResponseEntity.status(HttpStatus.CREATED).body(
+          "Fertilizantes e plantação associados com sucesso!"
+      );
+    } catch (FertilizerNotFoundException fertilizerNotFoundException) {
+
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
+          fertilizerNotFoundException.getMessage()
+      );
+
+    } catch (CropNotFoundException cropNotFoundException) {
+
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
+          cropNotFoundException.getMessage()
+      );
+
+    }
+  }
+
   /**
    * Method that returns all the fertilizers in a plantation.
    *
@@ -154,6 +333,7 @@ public class CropController {
    * @return returns all the fertilizers of the searched crop
    */
   @GetMapping("/{cropId}/fertilizers")
+  @QueryBudget(2)
   public ResponseEntity getFertilizersFromCropId(@PathVariable Long cropId) {
     try {
 
@@ -1,17 +1,33 @@
 package com.betrybe.agrix.controller;
 
+import com.betrybe.agrix.controller.dto.BulkCropFailureDto;
+import com.betrybe.agrix.controller.dto.BulkCropResponseDto;
 import com.betrybe.agrix.controller.dto.CropResponseDto;
 import com.betrybe.agrix.controller.dto.CropsDto;
 import com.betrybe.agrix.controller.dto.FarmDto;
+import com.betrybe.agrix.controller.dto.FarmSummaryDto;
 import com.betrybe.agrix.exceptions.FarmNotFoundException;
 import com.betrybe.agrix.model.entities.Crop;
 import com.betrybe.agrix.model.entities.Farm;
 import com.betrybe.agrix.service.CropService;
 import com.betrybe.agrix.service.FarmService;
+import com.betrybe.agrix.util.EntityTags;
+import com.betrybe.agrix.util.KeysetPagination;
+import com.betrybe.agrix.util.QueryBudget;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
@@ -20,7 +36,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Creates the FarmController class, a RestController that will
@@ -32,6 +50,7 @@ public class FarmController {
 
   private FarmService farmService;
   private CropService cropService;
+  private ObjectReader cropsReader;
 
   /**
    * Constructor of the FarmController class.
@@ -40,11 +59,14 @@ public class FarmController {
    *        by dependency injection.
    * @for cropService instance of the crops service layer received
    *        by dependency injection.
+   * @param objectMapper mapper used to read the bulk crops one by one
    */
   @Autowired
-  public FarmController(FarmService farmService, CropService cropService) {
+  public FarmController(FarmService farmService, CropService cropService,
+      ObjectMapper objectMapper) {
     this.farmService = farmService;
     this.cropService = cropService;
+    this.cropsReader = objectMapper.readerFor(CropsDto.class);
   }
 
   /**
@@ -56,6 +78,7 @@ public class FarmController {
    *        of the new farm created
    */
   @PostMapping
+  @QueryBudget(2)
   public ResponseEntity<Farm> createFarm(@RequestBody FarmDto farmDto) {
     Farm farmToSave = farmDto.toFarm();
     Farm createdFarm = this.farmService.createFarm(farmToSave);
@@ -63,23 +86,83 @@ public class FarmController {
   }
 
   /**
-   * Creates the GET /farms route that returns all registered farms.
+   * Creates the GET /farms route that returns all registered farms, or a
+   *        single page of them when the after or limit cursor parameters are sent.
+   *        The full list carries the aggregate version of the farms as ETag,
+   *        and is not loaded when it matches If-None-Match.
    *
+   * @param after id of the last farm of the previous page
+   * @param limit size of the page
+   * @param request request used to check the If-None-Match header
    * @return returns a list of all registered farms
    */
   @GetMapping
   @Secured({"ROLE_ADMIN", "ROLE_MANAGER", "ROLE_USER"})
-  public ResponseEntity<List<Farm>> getAllFarms() {
+  @QueryBudget(2)
+  public ResponseEntity<List<Farm>> getAllFarms(
+      @RequestParam(required = false) Long after,
+      @RequestParam(required = false) Integer limit, WebRequest request) {
+
+    if (KeysetPagination.isRequested(after, limit)) {
+      Pageable pageable = KeysetPagination.orderedById(limit);
+      List<Farm> page = this.farmService.getFarmsAfter(KeysetPagination.cursor(after), pageable);
+      return KeysetPagination.response(page, pageable, Farm::getId);
+    }
+
+    String etag = EntityTags.of(this.farmService.getFarmsVersion());
+    // checkNotModified also writes the ETag header of the response
+    if (request.checkNotModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+
     List<Farm> allFarms = this.farmService.getFarms();
     return ResponseEntity.status(HttpStatus.OK).body(allFarms);
   }
 
   /**
-   * Creates the GET route /farms/id that returns the farm searched by id.
+   * Creates the GET /farms/summary route that returns the crop totals of
+   *        every farm, computed by the database.
+   *
+   * @return returns a list with the summary of each farm
+   */
+  @GetMapping("/summary")
+  @Secured({"ROLE_ADMIN", "ROLE_MANAGER", "ROLE_USER"})
+  @QueryBudget(1)
+  public ResponseEntity<List<FarmSummaryDto>> getFarmSummaries() {
+    List<FarmSummaryDto> summaries = this.farmService.getFarmSummaries().stream()
+        .map(FarmSummaryDto::fromSummary)
+        .toList();
+    return ResponseEntity.status(HttpStatus.OK).body(summaries);
+  }
+
+  /**
+   * Creates the GET /farms/id/summary route that returns the crop count, the
+   *        planted area, the utilization and the next harvest date of a farm.
+   *
+   * @param farmId id of the searched farm
+   * @return returns the summary of the farm or a farm exception not found
+   */
+  @GetMapping("/{farmId}/summary")
+  @QueryBudget(1)
+  public ResponseEntity getFarmSummary(@PathVariable Long farmId) {
+    try {
+      FarmSummaryDto summary = FarmSummaryDto.fromSummary(
+          this.farmService.getFarmSummary(farmId));
+      return ResponseEntity.status(HttpStatus.OK).body(summary);
+    } catch (FarmNotFoundException farmNotFoundException) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(farmNotFoundException.getMessage());
+    }
+  }
+
+  /**
+   * Creates the GET route /farms/id that returns the farm searched by id,
+   *        with its version as ETag. A matching If-None-Match is answered
+   *        with 304 without serializing the farm.
    *
    * @return returns a farm from the database.
    */
   @GetMapping("/{farmId}")
+  @QueryBudget(1)
   public ResponseEntity getFarmById(@PathVariable Long farmId) throws FarmNotFoundException {
     try {
       Optional<Farm> farmToFound = this.farmService.getFarmById(farmId);
@@ -89,7 +172,9 @@ public class FarmController {
       }
 
       Farm farmFound = farmToFound.get();
-      return ResponseEntity.status(HttpStatus.OK).body(farmFound);
+      return ResponseEntity.status(HttpStatus.OK)
+          .eTag(EntityTags.of(farmFound.getId(), farmFound.getVersion()))
+          .body(farmFound);
     } catch (FarmNotFoundException farmNotFoundException) {
       return ResponseEntity.status(HttpStatus.NOT_FOUND).body(farmNotFoundException.getMessage());
     }
@@ -105,23 +190,14 @@ public class FarmController {
    *        omitting farm information.
    */
   @PostMapping("/{farmId}/crops")
+  @QueryBudget(3)
   public ResponseEntity createCropByFarmId(@PathVariable Long farmId, @RequestBody
       CropsDto cropsDto) {
     try {
-      Optional<Farm> farmToSave = this.farmService.getFarmById(farmId);
-
-      if (farmToSave.isEmpty()) {
-        throw new FarmNotFoundException();
-      }
-
-      Farm farmFound = farmToSave.get();
-      Crop cropToSave = cropsDto.toCrop(farmFound);
+      Crop cropToSave = cropsDto.toCrop(this.farmService.getFarmReference(farmId));
       Crop cropSaved = this.cropService.saveCropByFarmId(cropToSave);
 
-      CropResponseDto cropResponseDto = new CropResponseDto(
-          cropSaved.getId(), cropSaved.getName(),
-          cropSaved.getPlantedArea(), cropSaved.getFarm().getId(),
-          cropSaved.getPlantedDate(), cropSaved.getHarverstDate());
+      CropResponseDto cropResponseDto = CropResponseDto.fromCrop(cropSaved);
 
       return ResponseEntity.status(HttpStatus.CREATED).body(cropResponseDto);
 
@@ -132,6 +208,79 @@ public class FarmController {
     }
   }
 
+  /**
+   * POST route /farmid/crops/bulk that saves a JSON array of crops on a
+   *        specified farm. The array is read one crop at a time and saved in
+   *        batches of BULK_BATCH_SIZE, each in its own transaction, so a
+   *        failing crop does not roll back the others.
+   *
+   * @param farmId farm id
+   * @param body request body with an array of CropsDto
+   * @return returns how many crops were saved and the ones that failed
+   * @throws IOException in case the body cannot be read
+   */
+  @PostMapping("/{farmId}/crops/bulk")
+  public ResponseEntity createCropsInBulk(@PathVariable Long farmId, InputStream body)
+      throws IOException {
+    Optional<Farm> farmToSave = this.farmService.getFarmById(farmId);
+
+    if (farmToSave.isEmpty()) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND)
+          .body(new FarmNotFoundException().getMessage());
+    }
+
+    Farm farmFound = farmToSave.get();
+    List<BulkCropFailureDto> failures = new ArrayList<>();
+    List<CropsDto> batch = new ArrayList<>(CropService.BULK_BATCH_SIZE);
+    List<Integer> batchIndexes = new ArrayList<>(CropService.BULK_BATCH_SIZE);
+    int received = 0;
+
+    try (MappingIterator<CropsDto> cropsToSave = this.cropsReader.readValues(body)) {
+      while (cropsToSave.hasNextValue()) {
+        CropsDto cropsDto;
+        try {
+          cropsDto = cropsToSave.nextValue();
+        } catch (JsonMappingException exception) {
+          failures.add(new BulkCropFailureDto(received++, exception.getOriginalMessage()));
+          continue;
+        }
+
+        batch.add(cropsDto);
+        batchIndexes.add(received++);
+        if (batch.size() == CropService.BULK_BATCH_SIZE) {
+          saveBatch(farmFound, batch, batchIndexes, failures);
+        }
+      }
+    } catch (JsonProcessingException exception) {
+      // Malformed body: the crops read before the error are still saved
+      failures.add(new BulkCropFailureDto(received, exception.getOriginalMessage()));
+    }
+    saveBatch(farmFound, batch, batchIndexes, failures);
+    failures.sort(Comparator.comparingInt(BulkCropFailureDto::index));
+
+    int total = received;
+    int created = total - (int) failures.stream()
+        .filter(failure -> failure.index() < total).count();
+    HttpStatus status = failures.isEmpty() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+
+    return ResponseEntity.status(status)
+        .body(new BulkCropResponseDto(total, created, failures));
+  }
+
+  private void saveBatch(Farm farm, List<CropsDto> batch, List<Integer> batchIndexes,
+      List<BulkCropFailureDto> failures) {
+    if (batch.isEmpty()) {
+      return;
+    }
+
+    Map<Integer, String> batchFailures = this.cropService.saveCropsInBatch(farm, batch);
+    batchFailures.forEach((position, message) ->
+        failures.add(new BulkCropFailureDto(batchIndexes.get(position), message)));
+
+    batch.clear();
+    batchIndexes.clear();
+  }
+
   /**
    * Method that maps the /farmId/crops route and returns all the crops
    *        that a farm has.
@@ -141,14 +290,11 @@ public class FarmController {
    *        not found
    */
   @GetMapping("/{farmId}/crops")
+  @QueryBudget(2)
   public ResponseEntity getAllCropsFromFarm(@PathVariable Long farmId) {
     try {
 
-      List<Crop> allCrops = this.farmService.getAllCropsFromFarm(farmId);
-      List<CropResponseDto> allCropsResponse = allCrops.stream().map(
-          crop -> new CropResponseDto(crop.getId(), crop.getName(),
-          crop.getPlantedArea(), crop.getFarm().getId(),
-              crop.getPlantedDate(), crop.getHarverstDate())).collect(Collectors.toList());
+      List<CropResponseDto> allCropsResponse = this.farmService.getAllCropsFromFarm(farmId);
 
       return ResponseEntity.status(HttpStatus.OK).body(allCropsResponse);
 
@@ -5,8 +5,13 @@ import com.betrybe.agrix.controller.dto.FertilizerResponseDto;
 import com.betrybe.agrix.exceptions.FertilizerNotFoundException;
 import com.betrybe.agrix.model.entities.Fertilizer;
 import com.betrybe.agrix.service.FertilizerService;
+import com.betrybe.agrix.util.EntityTags;
+import com.betrybe.agrix.util.KeysetPagination;
+import com.betrybe.agrix.util.QueryBudget;
+import com.betrybe.agrix.util.SearchLimits;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
@@ -15,7 +20,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Creates the control layer for the /fertilizers routes.
@@ -45,6 +52,7 @@ public class FertilizersController {
    * @return returns the new fertilizer created
    */
   @PostMapping
+  @QueryBudget(1)
   public ResponseEntity<FertilizerResponseDto>
       createFertilizer(@RequestBody FertilizerDto newFertilizerInfo) {
     Fertilizer newFertilizer = newFertilizerInfo.toFertilizer();
@@ -60,30 +68,95 @@ public class FertilizersController {
 
   /**
    * Method that returns all the fertilizers mapped on the route
-   * GET /fertilizers.
+   * GET /fertilizers, or a single page of them when the after or limit
+   * cursor parameters are sent. When any of the minN, minP or minK nutrient
+   * percentages is sent, only the fertilizers with at least those
+   * percentages are returned, always one page at a time. The full list
+   * carries the aggregate version of the fertilizers as ETag, and is not
+   * loaded when it matches If-None-Match.
    *
+   * @param after id of the last fertilizer of the previous page
+   * @param limit size of the page
+   * @param minN minimum percentage of nitrogen
+   * @param minP minimum percentage of phosphorus
+   * @param minK minimum percentage of potassium
+   * @param request request used to check the If-None-Match header
    * @return returns all fertilizers
    */
   @GetMapping
   @Secured("ROLE_ADMIN")
-  public ResponseEntity<List<Fertilizer>> getAllFertilizers() {
+  @QueryBudget(2)
+  public ResponseEntity<List<Fertilizer>> getAllFertilizers(
+      @RequestParam(required = false) Long after,
+      @RequestParam(required = false) Integer limit,
+      @RequestParam(required = false) Double minN,
+      @RequestParam(required = false) Double minP,
+      @RequestParam(required = false) Double minK, WebRequest request) {
+
+    if (minN != null || minP != null || minK != null) {
+      Pageable pageable = KeysetPagination.orderedById(limit);
+      List<Fertilizer> page = this.fertilizerService.getFertilizersByNutrients(
+          minN == null ? 0.0 : minN, minP == null ? 0.0 : minP, minK == null ? 0.0 : minK,
+          KeysetPagination.cursor(after), pageable);
+      return KeysetPagination.response(page, pageable, Fertilizer::getId);
+    }
+
+    if (KeysetPagination.isRequested(after, limit)) {
+      Pageable pageable = KeysetPagination.orderedById(limit);
+      List<Fertilizer> page = this.fertilizerService
+          .getFertilizersAfter(KeysetPagination.cursor(after), pageable);
+      return KeysetPagination.response(page, pageable, Fertilizer::getId);
+    }
+
+    String etag = EntityTags.of(this.fertilizerService.getFertilizersVersion());
+    // checkNotModified also writes the ETag header of the response
+    if (request.checkNotModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+
     List<Fertilizer> allFertilizers = this.fertilizerService.getAllFertilizers();
     return ResponseEntity.status(HttpStatus.OK).body(allFertilizers);
   }
 
+  /**
+   * Method that searches the fertilizers by a whole or partial name or
+   *        brand, mapped on the GET /fertilizers/search route, tolerating
+   *        accents, case and small typos. The best matches come first.
+   *
+   * @param q searched name or brand
+   * @param limit maximum number of fertilizers returned
+   * @return returns the fertilizers that meet the requirement
+   */
+  @GetMapping("/search")
+  @Secured("ROLE_ADMIN")
+  @QueryBudget(1)
+  public ResponseEntity<List<FertilizerResponseDto>> searchFertilizers(
+      @RequestParam String q,
+      @RequestParam(defaultValue = "" + SearchLimits.DEFAULT_NAME_LIMIT) int limit) {
+
+    List<FertilizerResponseDto> fertilizers = this.fertilizerService.searchFertilizers(q, limit);
+
+    return ResponseEntity.status(HttpStatus.OK).body(fertilizers);
+  }
+
   /**
    * Method that returns the fertilizer fetched by the id, mapped
-   *        in the GET /fertilizers/id route.
+   *        in the GET /fertilizers/id route, with its version as ETag. A
+   *        matching If-None-Match is answered with 304 without serializing
+   *        the fertilizer.
    *
    * @param fertilizerId id of the searched fertilizer
    * @return returns the searched fertilizer
    */
   @GetMapping("/{fertilizerId}")
+  @QueryBudget(1)
   public ResponseEntity getFertilizerById(@PathVariable Long fertilizerId) {
     try {
 
       Fertilizer fertilizerFound = this.fertilizerService.getFertilizerById(fertilizerId);
-      return ResponseEntity.status(HttpStatus.OK).body(fertilizerFound);
+      return ResponseEntity.status(HttpStatus.OK)
+          .eTag(EntityTags.of(fertilizerFound.getId(), fertilizerFound.getVersion()))
+          .body(fertilizerFound);
 
     } catch (FertilizerNotFoundException fertilizerNotFoundException) {
 
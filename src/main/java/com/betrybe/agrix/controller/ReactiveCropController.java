@@ -0,0 +1,51 @@
+package com.betrybe.agrix.controller;
+
+import com.betrybe.agrix.controller.dto.CropResponseDto;
+import com.betrybe.agrix.service.CropService;
+import com.betrybe.agrix.util.KeysetPagination;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Controller of the streamed, backpressured reading of the crops in the
+ * /rx/crops route.
+ */
+@RestController
+@RequestMapping("/rx/crops")
+public class ReactiveCropController {
+
+  private CropService cropService;
+
+  /**
+   * ReactiveCropController controller constructor.
+   *
+   * @param cropService receives the service layer by
+   *        dependency injection.
+   */
+  @Autowired
+  public ReactiveCropController(CropService cropService) {
+    this.cropService = cropService;
+  }
+
+  /**
+   * Maps the GET /rx/crops route, which streams all the crops as newline
+   * delimited JSON or server-sent events, reading the next page only when
+   * the client consumed the previous one.
+   *
+   * @param pageSize number of crops read from the database at a time
+   * @return returns a flux of all the crops
+   */
+  @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE,
+      MediaType.TEXT_EVENT_STREAM_VALUE})
+  @Secured({"ROLE_ADMIN", "ROLE_MANAGER"})
+  public Flux<CropResponseDto> streamCrops(@RequestParam(required = false) Integer pageSize) {
+    return KeysetPagination.stream(this.cropService::getCropsAfter,
+        KeysetPagination.orderedById(pageSize), CropResponseDto::id);
+  }
+}
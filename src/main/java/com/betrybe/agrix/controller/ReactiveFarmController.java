@@ -0,0 +1,51 @@
+package com.betrybe.agrix.controller;
+
+import com.betrybe.agrix.model.entities.Farm;
+import com.betrybe.agrix.service.FarmService;
+import com.betrybe.agrix.util.KeysetPagination;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Controller of the streamed, backpressured reading of the farms in the
+ * /rx/farms route.
+ */
+@RestController
+@RequestMapping("/rx/farms")
+public class ReactiveFarmController {
+
+  private FarmService farmService;
+
+  /**
+   * ReactiveFarmController controller constructor.
+   *
+   * @param farmService receives the service layer by
+   *        dependency injection.
+   */
+  @Autowired
+  public ReactiveFarmController(FarmService farmService) {
+    this.farmService = farmService;
+  }
+
+  /**
+   * Maps the GET /rx/farms route, which streams all the farms as newline
+   * delimited JSON or server-sent events, reading the next page only when
+   * the client consumed the previous one.
+   *
+   * @param pageSize number of farms read from the database at a time
+   * @return returns a flux of all the farms
+   */
+  @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE,
+      MediaType.TEXT_EVENT_STREAM_VALUE})
+  @Secured({"ROLE_ADMIN", "ROLE_MANAGER", "ROLE_USER"})
+  public Flux<Farm> streamFarms(@RequestParam(required = false) Integer pageSize) {
+    return KeysetPagination.stream(this.farmService::getFarmsAfter,
+        KeysetPagination.orderedById(pageSize), Farm::getId);
+  }
+}
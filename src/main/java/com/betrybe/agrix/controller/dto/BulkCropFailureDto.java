@@ -0,0 +1,10 @@
+package com.betrybe.agrix.controller.dto;
+
+/**
+ * Failure of a single crop sent to the bulk creation route.
+ *
+ * @param index position of the crop in the received array
+ * @param message reason why the crop was not saved
+ */
+public record BulkCropFailureDto(int index, String message) {
+}
@@ -0,0 +1,14 @@
+package com.betrybe.agrix.controller.dto;
+
+import java.util.List;
+
+/**
+ * Response data of the bulk creation of crops.
+ *
+ * @param received number of crops received
+ * @param created number of crops saved
+ * @param failures crops that were not saved
+ */
+public record BulkCropResponseDto(int received, int created,
+                                  List<BulkCropFailureDto> failures) {
+}
@@ -1,5 +1,7 @@
 package com.betrybe.agrix.controller.dto;
 
+import com.betrybe.agrix.model.entities.Crop;
+import com.betrybe.agrix.model.projections.CropRow;
 import java.time.LocalDate;
 
 /**
@@ -14,4 +16,26 @@ import java.time.LocalDate;
  */
 public record CropResponseDto(Long id, String name, Double plantedArea, Long farmId,
                               LocalDate plantedDate, LocalDate harvestDate) {
+
+  /**
+   * Converts a crop, reading only the id of its farm.
+   *
+   * @param crop crop to be converted
+   * @return returns the response data of the crop
+   */
+  public static CropResponseDto fromCrop(Crop crop) {
+    return new CropResponseDto(crop.getId(), crop.getName(), crop.getPlantedArea(),
+        crop.getFarm().getId(), crop.getPlantedDate(), crop.getHarverstDate());
+  }
+
+  /**
+   * Converts the columns of a crop read by a projection.
+   *
+   * @param row columns of the crop
+   * @return returns the response data of the crop
+   */
+  public static CropResponseDto fromRow(CropRow row) {
+    return new CropResponseDto(row.id(), row.name(), row.plantedArea(), row.farmId(),
+        row.plantedDate(), row.harvestDate());
+  }
 }
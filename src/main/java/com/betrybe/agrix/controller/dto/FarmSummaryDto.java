@@ -0,0 +1,40 @@
+package com.betrybe.agrix.controller.dto;
+
+import com.betrybe.agrix.model.projections.FarmSummary;
+import java.time.LocalDate;
+
+/**
+ * Response data of the summary of a farm.
+ *
+ * @param farmId id of the farm
+ * @param name name of the farm
+ * @param size size of the farm
+ * @param cropCount number of crops of the farm
+ * @param plantedArea sum of the planted area of the crops
+ * @param utilization planted area divided by the size of the farm
+ * @param nextHarvestDate earliest harvest date from today on
+ * @param earliestHarvestDate earliest harvest date of all the crops
+ * @param latestHarvestDate latest harvest date of all the crops
+ */
+public record FarmSummaryDto(Long farmId, String name, Double size, Long cropCount,
+                             Double plantedArea, Double utilization,
+                             LocalDate nextHarvestDate, LocalDate earliestHarvestDate,
+                             LocalDate latestHarvestDate) {
+
+  /**
+   * Converts the summary read from the database, adding the utilization.
+   *
+   * @param summary summary of the farm
+   * @return returns the response data
+   */
+  public static FarmSummaryDto fromSummary(FarmSummary summary) {
+    Double utilization = summary.getSize() == null || summary.getSize() == 0
+        ? null
+        : summary.getPlantedArea() / summary.getSize();
+
+    return new FarmSummaryDto(summary.getFarmId(), summary.getName(), summary.getSize(),
+        summary.getCropCount(), summary.getPlantedArea(), utilization,
+        summary.getNextHarvestDate(), summary.getEarliestHarvestDate(),
+        summary.getLatestHarvestDate());
+  }
+}
@@ -0,0 +1,16 @@
+package com.betrybe.agrix.controller.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Response data of one period of the harvest calendar of a farm.
+ *
+ * @param farmId id of the farm
+ * @param period label of the period, such as 2023-W05 or 2023-02
+ * @param periodStart first day of the period
+ * @param cropCount number of crops harvested in the period
+ * @param plantedArea sum of the planted area of those crops
+ */
+public record HarvestCalendarEntryDto(Long farmId, String period, LocalDate periodStart,
+                                      long cropCount, double plantedArea) {
+}
@@ -5,6 +5,7 @@ import com.betrybe.agrix.ebytr.staff.security.Role;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -18,6 +19,7 @@ import org.springframework.security.core.userdetails.UserDetails;
  * Class representing a person.
  */
 @Entity
+@EntityListeners(PersonCacheListener.class)
 public class Person implements UserDetails, GrantedAuthority {
 
   @Id
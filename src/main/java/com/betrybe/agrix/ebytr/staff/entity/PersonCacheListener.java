@@ -0,0 +1,30 @@
+package com.betrybe.agrix.ebytr.staff.entity;
+
+import com.betrybe.agrix.ebytr.staff.service.PrincipalCache;
+import com.betrybe.agrix.util.TransactionCallbacks;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entity listener that evicts a person from the principal cache when it changes.
+ * The eviction waits for the commit, since until then other requests still load
+ * the previous version of the person from the database.
+ */
+@Component
+public class PersonCacheListener {
+
+  private final PrincipalCache principalCache;
+
+  @Autowired
+  public PersonCacheListener(PrincipalCache principalCache) {
+    this.principalCache = principalCache;
+  }
+
+  @PostUpdate
+  @PostRemove
+  public void evict(Person person) {
+    TransactionCallbacks.afterCommit(() -> this.principalCache.invalidate(person));
+  }
+}
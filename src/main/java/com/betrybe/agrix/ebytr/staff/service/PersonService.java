@@ -18,11 +18,19 @@ import org.springframework.stereotype.Service;
 public class PersonService implements UserDetailsService {
 
   private final PersonRepository personRepository;
+  private final PrincipalCache principalCache;
 
+  /**
+   * Person service constructor.
+   *
+   * @param personRepository person repository received by dependency injection
+   * @param principalCache cache of the persons resolved from tokens
+   */
   @Autowired
   public PersonService(
-      PersonRepository personRepository) {
+      PersonRepository personRepository, PrincipalCache principalCache) {
     this.personRepository = personRepository;
+    this.principalCache = principalCache;
   }
 
   /**
@@ -51,6 +59,14 @@ public class PersonService implements UserDetailsService {
     return person.get();
   }
 
+  /**
+   * Returns the person of an authenticated request for a given username,
+   * going to the database only when it is not in the principal cache.
+   */
+  public Person getPrincipalByUsername(String username) {
+    return this.principalCache.get(username, this::getPersonByUsername);
+  }
+
   /**
    * Creates a new person.
    */
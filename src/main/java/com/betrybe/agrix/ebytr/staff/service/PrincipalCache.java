@@ -0,0 +1,92 @@
+package com.betrybe.agrix.ebytr.staff.service;
+
+import com.betrybe.agrix.ebytr.staff.entity.Person;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded in-memory cache of the persons resolved from tokens, keyed by username.
+ * Entries expire after a fixed time and are evicted whenever the person changes.
+ * Hits and misses are published as the cache.gets metric with cache=principals.
+ */
+@Component
+public class PrincipalCache {
+
+  private final Cache<String, Person> cache;
+
+  private final AtomicLong invalidations = new AtomicLong();
+
+  /**
+   * Creates the cache and registers its metrics.
+   *
+   * @param maxSize maximum number of cached persons
+   * @param ttlSeconds seconds a person stays cached after being loaded
+   * @param meterRegistry registry where the hit and miss metrics are published
+   */
+  @Autowired
+  public PrincipalCache(
+      @Value("${api.security.principal-cache.max-size:10000}") long maxSize,
+      @Value("${api.security.principal-cache.ttl-seconds:300}") long ttlSeconds,
+      MeterRegistry meterRegistry) {
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, this.cache, "principals");
+  }
+
+  /**
+   * Returns the cached person, loading and caching it on a miss. The loader
+   * runs outside of the cache, instead of inside Cache.get, because the cache
+   * computes entries while holding a monitor and a virtual thread blocked on
+   * the database there would pin its carrier thread. Concurrent misses for the
+   * same username may load it more than once. A person loaded while some person
+   * was invalidated is returned but not cached, as it may predate the change.
+   *
+   * @param username username of the person
+   * @param loader function that loads the person from the database
+   * @return returns the person
+   */
+  public Person get(String username, Function<String, Person> loader) {
+    long invalidationsBefore = this.invalidations.get();
+    Person cached = this.cache.getIfPresent(username);
+    if (cached != null) {
+      return cached;
+    }
+
+    Person loaded = loader.apply(username);
+    if (loaded != null) {
+      this.cache.asMap().compute(username, (key, current) -> current != null
+          || this.invalidations.get() != invalidationsBefore ? current : loaded);
+    }
+    return loaded;
+  }
+
+  /**
+   * Evicts a person, by username and by id, so that a changed username is also evicted.
+   * The invalidation is counted before evicting, so that a load finishing in
+   * between is not cached either.
+   *
+   * @param person person that changed
+   */
+  public void invalidate(Person person) {
+    this.invalidations.incrementAndGet();
+    if (person.getUsername() != null) {
+      this.cache.invalidate(person.getUsername());
+    }
+    if (person.getId() != null) {
+      this.cache.asMap().values()
+          .removeIf(cached -> Objects.equals(cached.getId(), person.getId()));
+    }
+  }
+}
@@ -1,11 +1,26 @@
 package com.betrybe.agrix.ebytr.staff.service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.betrybe.agrix.ebytr.staff.entity.Person;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -15,22 +30,54 @@ import org.springframework.stereotype.Service;
 @Service
 public class TokenService {
 
-  @Value("${api.security.token.secret}")
-  private String secret;
+  public static final String ROLE_CLAIM = "role";
+
+  public static final String PERSON_ID_CLAIM = "personId";
+
+  private final Algorithm algorithm;
+
+  private final JWTVerifier verifier;
+
+  private final Cache<String, DecodedJWT> verifiedTokens;
+
+  /**
+   * Token service constructor, which builds the algorithm and the verifier once.
+   *
+   * @param secret secret used to sign the tokens
+   * @param cacheMaxSize maximum number of verified tokens kept in memory
+   * @param meterRegistry registry where the cache hit and miss metrics are published
+   */
+  @Autowired
+  public TokenService(@Value("${api.security.token.secret}") String secret,
+      @Value("${api.security.token-cache.max-size:10000}") long cacheMaxSize,
+      MeterRegistry meterRegistry) {
+    this.algorithm = Algorithm.HMAC256(secret);
+    this.verifier = JWT.require(this.algorithm)
+        .withIssuer("agrix")
+        .build();
+    this.verifiedTokens = Caffeine.newBuilder()
+        .maximumSize(cacheMaxSize)
+        .expireAfter(new UntilTokenExpires())
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, this.verifiedTokens, "verified_tokens");
+  }
 
   /**
-   * Function that generates a token from a Person.
+   * Function that generates a token from a Person, carrying its role and id
+   * as claims so that the stateless mode does not need to load the person.
    *
    * @param person person passed in as a parameter
    * @return returns a generated token
    */
   public String generateToken(Person person) {
-    Algorithm algorithm = Algorithm.HMAC256(secret);
     return JWT.create()
         .withIssuer("agrix")
         .withExpiresAt(expiresAt())
         .withSubject(person.getUsername())
-        .sign(algorithm);
+        .withClaim(ROLE_CLAIM, person.getRole() == null ? null : person.getRole().name())
+        .withClaim(PERSON_ID_CLAIM, person.getId())
+        .sign(this.algorithm);
   }
 
   /**
@@ -45,17 +92,79 @@ public class TokenService {
 
   /**
    * Function that validates the token, checking if it is valid and returning its subject.
+   * Tokens already verified are kept, by digest, until they expire, so repeated
+   * requests with the same token skip the signature check and the claims parsing.
    *
    * @param token receives the token to be checked
    * @return returns the subject encrypted in the token
    */
   public String validateToken(String token) {
-    Algorithm algorithm = Algorithm.HMAC256(secret);
-    return JWT.require(algorithm)
-        .withIssuer("agrix")
-        .build()
-        .verify(token)
-        .getSubject();
+    return verifyToken(token).getSubject();
   }
 
+  /**
+   * Function that validates the token and returns all of its claims, with the
+   * same cache used by validateToken.
+   *
+   * @param token receives the token to be checked
+   * @return returns the decoded token
+   */
+  public DecodedJWT verifyToken(String token) {
+    return this.verifiedTokens.get(digest(token), key -> this.verifier.verify(token));
+  }
+
+  /**
+   * Builds the person of a verified token only from its claims, without
+   * accessing the database.
+   *
+   * @param token verified token
+   * @return returns the person, or empty if the token has no role claim
+   */
+  public Optional<Person> toPerson(DecodedJWT token) {
+    Claim role = token.getClaim(ROLE_CLAIM);
+    if (role.isMissing() || role.isNull()) {
+      return Optional.empty();
+    }
+
+    Person person = new Person(token.getSubject(), null, role.asString());
+    person.setId(token.getClaim(PERSON_ID_CLAIM).asLong());
+    return Optional.of(person);
+  }
+
+  private static String digest(String token) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256")
+          .digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().encodeToString(hash);
+    } catch (NoSuchAlgorithmException exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  /**
+   * Expires each verified token at the instant of its exp claim.
+   */
+  private static class UntilTokenExpires implements Expiry<String, DecodedJWT> {
+
+    @Override
+    public long expireAfterCreate(String key, DecodedJWT token, long currentTime) {
+      Instant expiresAt = token.getExpiresAtAsInstant();
+      if (expiresAt == null) {
+        return 0;
+      }
+      return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, DecodedJWT token, long currentTime,
+        long currentDuration) {
+      return currentDuration;
+    }
+
+    @Override
+    public long expireAfterRead(String key, DecodedJWT token, long currentTime,
+        long currentDuration) {
+      return currentDuration;
+    }
+  }
 }
@@ -0,0 +1,15 @@
+package com.betrybe.agrix.exceptions;
+
+/**
+ * Customized exception that will be thrown if the harvest calendar
+ * is requested before its rollups are loaded.
+ */
+public class CalendarNotLoadedException extends Exception {
+
+  /**
+   * Custom exception constructor calling the super method.
+   */
+  public CalendarNotLoadedException() {
+    super("Calendário de colheitas ainda não carregado!");
+  }
+}
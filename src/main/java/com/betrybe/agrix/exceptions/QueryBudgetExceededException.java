@@ -0,0 +1,19 @@
+package com.betrybe.agrix.exceptions;
+
+/**
+ * Exception thrown in the FAIL query budget mode when a route executes more
+ * SQL statements than it declared.
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+
+  /**
+   * Custom exception constructor.
+   *
+   * @param route route that exceeded the budget
+   * @param budget declared budget
+   * @param sql statement that exceeded the budget
+   */
+  public QueryBudgetExceededException(String route, int budget, String sql) {
+    super("A rota %s excedeu o limite de %d consultas: %s".formatted(route, budget, sql));
+  }
+}
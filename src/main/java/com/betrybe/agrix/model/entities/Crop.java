@@ -1,31 +1,69 @@
 package com.betrybe.agrix.model.entities;
 
+import com.betrybe.agrix.util.CropIndexListener;
+import com.betrybe.agrix.util.FarmSummaryMaintainer;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Creates the Crop entity.
  */
 @Entity
-@Table(name = "crop")
+@EntityListeners({CropIndexListener.class, FarmSummaryMaintainer.class})
+@Table(name = "crop", indexes = {
+    @Index(name = "idx_crop_harvest_date", columnList = "harvest_date"),
+    @Index(name = "idx_crop_farm_harvest_date", columnList = "farm_id, harvest_date")
+})
 public class Crop {
+
+  public static final String ID_SEQUENCE = "crop_seq";
+
+  public static final int ID_ALLOCATION_SIZE = 50;
+
+  public static final String FARM_FOREIGN_KEY = "fk_crop_farm";
+
+  /**
+   * Name Hibernate generated for the farm_id foreign key before it was
+   * named, which the schemas created back then keep with ddl-auto=update.
+   */
+  public static final String LEGACY_FARM_FOREIGN_KEY = "fks1spg8wivrcuxsn4uvjtvuoq3";
+
+  public static final String FERTILIZER_UNIQUE_KEY = "uk_crop_fertilizer";
+
+  /**
+   * Name Hibernate generated for the unique key of crop_fertilizer before it
+   * was named, kept by the older schemas in the same way.
+   */
+  public static final String LEGACY_FERTILIZER_UNIQUE_KEY = "ukdb19quysd71b0x8k3ut1gdpjp";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+  @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE,
+      allocationSize = ID_ALLOCATION_SIZE)
   private Long id;
 
   @ManyToOne
-  @JoinColumn(name = "farm_id")
+  @JoinColumn(name = "farm_id", foreignKey = @ForeignKey(name = FARM_FOREIGN_KEY))
   private Farm farm;
 
   private String name;
@@ -39,14 +77,27 @@ public class Crop {
   @Column(name = "harvest_date")
   private LocalDate harverstDate;
 
+  @Version
+  private long version;
+
   @ManyToMany
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "crop_fertilizers")
   @JoinTable(
       name = "crop_fertilizer",
       joinColumns = @JoinColumn(name = "fertilizer_id"),
-      inverseJoinColumns = @JoinColumn(name = "crop_id")
+      inverseJoinColumns = @JoinColumn(name = "crop_id"),
+      uniqueConstraints = @UniqueConstraint(name = FERTILIZER_UNIQUE_KEY,
+          columnNames = {"fertilizer_id", "crop_id"})
   )
   private List<Fertilizer> fertilizers;
 
+  /**
+   * Farm the crop had when it was loaded or last written, so a crop moved to
+   * another farm also has the totals of its previous farm recomputed.
+   */
+  @Transient
+  private Long loadedFarmId;
+
   public Crop() {}
 
   /**
@@ -109,6 +160,10 @@ public class Crop {
     this.harverstDate = harverstDate;
   }
 
+  public long getVersion() {
+    return version;
+  }
+
   public List<Fertilizer> getFertilizers() {
     return fertilizers;
   }
@@ -116,4 +171,12 @@ public class Crop {
   public void setFertilizers(List<Fertilizer> fertilizers) {
     this.fertilizers = fertilizers;
   }
+
+  public Long getLoadedFarmId() {
+    return loadedFarmId;
+  }
+
+  public void setLoadedFarmId(Long loadedFarmId) {
+    this.loadedFarmId = loadedFarmId;
+  }
 }
@@ -1,12 +1,15 @@
 package com.betrybe.agrix.model.entities;
 
+import com.betrybe.agrix.util.FarmSummaryMaintainer;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.util.List;
 
 /**
@@ -14,6 +17,7 @@ import java.util.List;
  */
 
 @Entity
+@EntityListeners(FarmSummaryMaintainer.class)
 @Table(name = "farm")
 public class Farm {
 
@@ -25,6 +29,10 @@ public class Farm {
 
   private Double size;
 
+  @Version
+  @JsonIgnore
+  private long version;
+
   @OneToMany(mappedBy = "farm")
   @JsonIgnore
   private List<Crop> crops;
@@ -64,6 +72,10 @@ public class Farm {
     this.size = size;
   }
 
+  public long getVersion() {
+    return version;
+  }
+
   public void setCrops(List<Crop> crops) {
     this.crops = crops;
   }
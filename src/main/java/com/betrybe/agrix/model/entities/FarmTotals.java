@@ -0,0 +1,58 @@
+package com.betrybe.agrix.model.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Row of the farm_summary table, which keeps the crop totals of each farm so
+ *        that the summaries are read by primary key instead of aggregating
+ *        the crop table. The rows are written only by the
+ *        FarmSummaryMaintainer and by the rebuild job.
+ */
+@Entity
+@Immutable
+@Table(name = "farm_summary")
+public class FarmTotals {
+
+  @Id
+  @Column(name = "farm_id")
+  private Long farmId;
+
+  @Column(name = "crop_count", nullable = false)
+  private long cropCount;
+
+  @Column(name = "planted_area", nullable = false)
+  private double plantedArea;
+
+  @Column(name = "earliest_harvest_date")
+  private LocalDate earliestHarvestDate;
+
+  @Column(name = "latest_harvest_date")
+  private LocalDate latestHarvestDate;
+
+  public FarmTotals() {}
+
+  public Long getFarmId() {
+    return farmId;
+  }
+
+  public long getCropCount() {
+    return cropCount;
+  }
+
+  public double getPlantedArea() {
+    return plantedArea;
+  }
+
+  public LocalDate getEarliestHarvestDate() {
+    return earliestHarvestDate;
+  }
+
+  public LocalDate getLatestHarvestDate() {
+    return latestHarvestDate;
+  }
+}
@@ -1,19 +1,35 @@
 package com.betrybe.agrix.model.entities;
 
+import com.betrybe.agrix.util.FertilizerIndexListener;
+import com.betrybe.agrix.util.NutrientComposition;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.util.List;
+import java.util.Optional;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
- * Creates the fertilizer entity with the appropriate information.
+ * Creates the fertilizer entity with the appropriate information. The
+ * nitrogen, phosphorus and potassium percentages are parsed from the
+ * composition whenever it is set, and are null when it cannot be parsed.
  */
 @Entity
-@Table(name = "fertilizer")
+@Table(name = "fertilizer", indexes = {
+    @Index(name = "idx_fertilizer_nitrogen", columnList = "nitrogen"),
+    @Index(name = "idx_fertilizer_phosphorus", columnList = "phosphorus"),
+    @Index(name = "idx_fertilizer_potassium", columnList = "potassium")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "fertilizer")
+@EntityListeners(FertilizerIndexListener.class)
 public class Fertilizer {
 
   @Id
@@ -26,6 +42,16 @@ public class Fertilizer {
 
   private String composition;
 
+  private Double nitrogen;
+
+  private Double phosphorus;
+
+  private Double potassium;
+
+  @Version
+  @JsonIgnore
+  private long version;
+
   @ManyToMany(mappedBy = "fertilizers")
   @JsonIgnore
   private List<Crop> crops;
@@ -45,7 +71,7 @@ public class Fertilizer {
     this.id = id;
     this.name = name;
     this.brand = brand;
-    this.composition = composition;
+    setComposition(composition);
   }
 
   public Long getId() {
@@ -72,8 +98,33 @@ public class Fertilizer {
     return composition;
   }
 
+  /**
+   * Sets the composition and the nutrients parsed from it.
+   *
+   * @param composition free text composition of the fertilizer
+   */
   public void setComposition(String composition) {
     this.composition = composition;
+    Optional<NutrientComposition> nutrients = NutrientComposition.parse(composition);
+    this.nitrogen = nutrients.map(NutrientComposition::nitrogen).orElse(null);
+    this.phosphorus = nutrients.map(NutrientComposition::phosphorus).orElse(null);
+    this.potassium = nutrients.map(NutrientComposition::potassium).orElse(null);
+  }
+
+  public Double getNitrogen() {
+    return nitrogen;
+  }
+
+  public Double getPhosphorus() {
+    return phosphorus;
+  }
+
+  public Double getPotassium() {
+    return potassium;
+  }
+
+  public long getVersion() {
+    return version;
   }
 
   public List<Crop> getCrops() {
@@ -0,0 +1,16 @@
+package com.betrybe.agrix.model.projections;
+
+/**
+ * Aggregate version of all the rows of a table. Inserting a row raises the
+ *        count and the highest id, deleting one lowers the count and updating
+ *        one raises the sum of the versions, so any change to the table
+ *        changes at least one of them.
+ */
+public interface CollectionVersion {
+
+  Long getCount();
+
+  Long getVersionSum();
+
+  Long getMaxId();
+}
@@ -0,0 +1,19 @@
+package com.betrybe.agrix.model.projections;
+
+import java.time.LocalDate;
+
+/**
+ * Columns of a crop read with a constructor expression, with the id of its
+ *        farm taken from the farm_id column, without loading the crop or the
+ *        farm.
+ *
+ * @param id id of the crop
+ * @param name name of the crop
+ * @param plantedArea planted area of the crop
+ * @param farmId id of the farm of the crop
+ * @param plantedDate date on which the crop was planted
+ * @param harvestDate date the crop is harvested
+ */
+public record CropRow(Long id, String name, Double plantedArea, Long farmId,
+                      LocalDate plantedDate, LocalDate harvestDate) {
+}
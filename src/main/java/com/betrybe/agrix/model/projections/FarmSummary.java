@@ -0,0 +1,25 @@
+package com.betrybe.agrix.model.projections;
+
+import java.time.LocalDate;
+
+/**
+ * Crop totals of a farm, read from the farm_summary table.
+ */
+public interface FarmSummary {
+
+  Long getFarmId();
+
+  String getName();
+
+  Double getSize();
+
+  Long getCropCount();
+
+  Double getPlantedArea();
+
+  LocalDate getEarliestHarvestDate();
+
+  LocalDate getLatestHarvestDate();
+
+  LocalDate getNextHarvestDate();
+}
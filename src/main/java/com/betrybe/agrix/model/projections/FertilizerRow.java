@@ -0,0 +1,13 @@
+package com.betrybe.agrix.model.projections;
+
+/**
+ * Columns of a fertilizer read with a constructor expression, without
+ *        loading the entity.
+ *
+ * @param id id of the fertilizer
+ * @param name fertilizer name
+ * @param brand fertilizer brand
+ * @param composition fertilizer composition
+ */
+public record FertilizerRow(Long id, String name, String brand, String composition) {
+}
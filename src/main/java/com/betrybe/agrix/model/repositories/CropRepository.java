@@ -1,10 +1,134 @@
 package com.betrybe.agrix.model.repositories;
 
 import com.betrybe.agrix.model.entities.Crop;
+import com.betrybe.agrix.model.projections.CollectionVersion;
+import com.betrybe.agrix.model.projections.CropRow;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Creates the Crop repository.
  */
 public interface CropRepository extends JpaRepository<Crop, Long> {
+
+  int EXPORT_FETCH_SIZE = 500;
+
+  /**
+   * Select clause that builds a CropRow straight from the crop row, reading
+   * farm_id without loading the farm.
+   */
+  String RESPONSE_SELECT = "SELECT new com.betrybe.agrix.model.projections.CropRow("
+      + "c.id, c.name, c.plantedArea, c.farm.id, c.plantedDate, c.harverstDate) FROM Crop c";
+
+  @Query(RESPONSE_SELECT)
+  List<CropRow> findAllResponses();
+
+  @Query("SELECT COUNT(c) AS count, COALESCE(SUM(c.version), 0) AS versionSum,"
+      + " COALESCE(MAX(c.id), 0) AS maxId FROM Crop c")
+  CollectionVersion findCollectionVersion();
+
+  @Query(RESPONSE_SELECT + " WHERE c.farm.id = :farmId")
+  List<CropRow> findResponsesByFarmId(@Param("farmId") Long farmId);
+
+  /**
+   * Searches the crops whose name contains the searched text, ignoring the
+   *        case. Used while the in-memory name index is not loaded.
+   *
+   * @param name searched text
+   * @param pageable limit and sort order of the search
+   * @return returns the crops that meet the requirement
+   */
+  @Query(RESPONSE_SELECT + " WHERE LOWER(c.name) LIKE LOWER(CONCAT('%', :name, '%'))")
+  List<CropRow> findByNameContaining(@Param("name") String name, Pageable pageable);
+
+  /**
+   * Searches the crops whose harvest date is strictly between the two dates,
+   *        using the index on the harvest_date column.
+   *
+   * @param start search start date (exclusive)
+   * @param end search end date (exclusive)
+   * @param pageable limit and sort order of the search
+   * @return returns the crops that meet the requirement
+   */
+  @Query(RESPONSE_SELECT + " WHERE c.harverstDate > :start AND c.harverstDate < :end")
+  List<CropRow> findByHarvestDateBetween(@Param("start") LocalDate start,
+      @Param("end") LocalDate end, Pageable pageable);
+
+  /**
+   * Searches the crops whose planting and harvest window shares at least one
+   *        day with the searched window.
+   *
+   * @param start first day of the window
+   * @param end last day of the window
+   * @param pageable limit and sort order of the search
+   * @return returns the crops that meet the requirement
+   */
+  @Query(RESPONSE_SELECT + " WHERE c.plantedDate <= :end AND c.harverstDate >= :start")
+  List<CropRow> findByPeriodOverlapping(@Param("start") LocalDate start,
+      @Param("end") LocalDate end, Pageable pageable);
+
+  /**
+   * Searches the crops planted and harvested inside the searched window.
+   *
+   * @param start first day of the window
+   * @param end last day of the window
+   * @param pageable limit and sort order of the search
+   * @return returns the crops that meet the requirement
+   */
+  @Query(RESPONSE_SELECT + " WHERE c.plantedDate >= :start AND c.harverstDate <= :end")
+  List<CropRow> findByPeriodWithin(@Param("start") LocalDate start,
+      @Param("end") LocalDate end, Pageable pageable);
+
+  /**
+   * Searches one page of crops with the id greater than the cursor, so the
+   *        cost of a page does not depend on how deep the client is.
+   *
+   * @param after id of the last crop of the previous page
+   * @param pageable size and order of the page
+   * @return returns the crops of the page
+   */
+  @Query(RESPONSE_SELECT + " WHERE c.id > :after")
+  List<CropRow> findPageAfter(@Param("after") Long after, Pageable pageable);
+
+  /**
+   * Streams all the crops from a database cursor, reading EXPORT_FETCH_SIZE
+   *        rows at a time. Must be consumed inside a transaction.
+   *
+   * @return returns a stream of all the crops
+   */
+  @Query("SELECT c FROM Crop c JOIN FETCH c.farm")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+  Stream<Crop> streamAll();
+
+  /**
+   * Inserts the crop_fertilizer rows of the given fertilizers that the crop
+   *        does not have yet, in a single statement and without loading the
+   *        Crop.fertilizers collection. The join columns of the mapping are
+   *        swapped, so the crop id goes in fertilizer_id and the fertilizer
+   *        id in crop_id. Declaring crop_fertilizer as the synchronized space
+   *        keeps the rest of the second-level cache, but the cached
+   *        Crop.fertilizers collection must be evicted by the caller.
+   *
+   * @param cropId id of the crop
+   * @param fertilizerIds ids of the fertilizers to be associated
+   * @return returns the number of new associations
+   */
+  @Modifying
+  @Query(value = "INSERT INTO crop_fertilizer (fertilizer_id, crop_id)"
+      + " SELECT :cropId, f.id FROM fertilizer f WHERE f.id IN (:fertilizerIds)"
+      + " AND NOT EXISTS (SELECT 1 FROM crop_fertilizer cf"
+      + " WHERE cf.fertilizer_id = :cropId AND cf.crop_id = f.id)", nativeQuery = true)
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "crop_fertilizer"))
+  int addFertilizers(@Param("cropId") Long cropId,
+      @Param("fertilizerIds") Collection<Long> fertilizerIds);
 }
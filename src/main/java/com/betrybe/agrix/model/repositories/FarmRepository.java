@@ -1,10 +1,58 @@
 package com.betrybe.agrix.model.repositories;
 
 import com.betrybe.agrix.model.entities.Farm;
+import com.betrybe.agrix.model.projections.CollectionVersion;
+import com.betrybe.agrix.model.projections.FarmSummary;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Creates the Farm repository.
  */
 public interface FarmRepository extends JpaRepository<Farm, Long> {
+
+  /**
+   * Reads the totals of the farms from farm_summary by primary key. The next
+   *        harvest depends on the day, so it is only searched in the crop
+   *        table, through the farm and harvest date index, when today falls
+   *        between the earliest and the latest harvest of the farm.
+   */
+  String SUMMARY_QUERY = "SELECT f.id AS farmId, f.name AS name, f.size AS size,"
+      + " COALESCE(t.cropCount, 0) AS cropCount, COALESCE(t.plantedArea, 0.0) AS plantedArea,"
+      + " t.earliestHarvestDate AS earliestHarvestDate,"
+      + " t.latestHarvestDate AS latestHarvestDate,"
+      + " CASE WHEN t.earliestHarvestDate >= :today THEN t.earliestHarvestDate"
+      + " WHEN t.latestHarvestDate >= :today THEN (SELECT MIN(c.harverstDate) FROM Crop c"
+      + " WHERE c.farm.id = f.id AND c.harverstDate >= :today) END AS nextHarvestDate"
+      + " FROM Farm f LEFT JOIN FarmTotals t ON t.farmId = f.id";
+
+  List<Farm> findByIdGreaterThan(Long after, Pageable pageable);
+
+  @Query("SELECT COUNT(f) AS count, COALESCE(SUM(f.version), 0) AS versionSum,"
+      + " COALESCE(MAX(f.id), 0) AS maxId FROM Farm f")
+  CollectionVersion findCollectionVersion();
+
+  /**
+   * Reads the crop totals of a farm with a single query.
+   *
+   * @param id id of the farm
+   * @param today date from which the next harvest is searched
+   * @return returns the summary, or empty if the farm does not exist
+   */
+  @Query(SUMMARY_QUERY + " WHERE f.id = :id")
+  Optional<FarmSummary> findSummaryById(@Param("id") Long id, @Param("today") LocalDate today);
+
+  /**
+   * Reads the crop totals of all the farms with a single query.
+   *
+   * @param today date from which the next harvest is searched
+   * @return returns the summary of each farm
+   */
+  @Query(SUMMARY_QUERY + " ORDER BY f.id")
+  List<FarmSummary> findAllSummaries(@Param("today") LocalDate today);
 }
@@ -0,0 +1,76 @@
+package com.betrybe.agrix.model.repositories;
+
+import com.betrybe.agrix.model.entities.FarmTotals;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+/**
+ * Creates the repository of the farm_summary table.
+ */
+public interface FarmTotalsRepository extends JpaRepository<FarmTotals, Long> {
+
+  String INSERT_TOTALS = "INSERT INTO farm_summary (farm_id, crop_count, planted_area,"
+      + " earliest_harvest_date, latest_harvest_date) ";
+
+  /**
+   * Select clause that computes the totals of the farms from the crop table.
+   */
+  String TOTALS_SELECT = "SELECT f.id, COUNT(c.id), COALESCE(SUM(c.planted_area), 0),"
+      + " MIN(c.harvest_date), MAX(c.harvest_date)"
+      + " FROM farm f LEFT JOIN crop c ON c.farm_id = f.id";
+
+  /**
+   * Recomputes the rows in place from the crop table, each column with a
+   *        subquery correlated to the farm of the row.
+   */
+  String UPDATE_TOTALS = "UPDATE farm_summary SET"
+      + " crop_count = (SELECT COUNT(*) FROM crop c WHERE c.farm_id = farm_summary.farm_id),"
+      + " planted_area = (SELECT COALESCE(SUM(c.planted_area), 0) FROM crop c"
+      + " WHERE c.farm_id = farm_summary.farm_id),"
+      + " earliest_harvest_date = (SELECT MIN(c.harvest_date) FROM crop c"
+      + " WHERE c.farm_id = farm_summary.farm_id),"
+      + " latest_harvest_date = (SELECT MAX(c.harvest_date) FROM crop c"
+      + " WHERE c.farm_id = farm_summary.farm_id)";
+
+  /**
+   * Condition of TOTALS_SELECT that keeps only the farms without a row.
+   */
+  String WITHOUT_TOTALS = " NOT EXISTS (SELECT 1 FROM farm_summary s WHERE s.farm_id = f.id)";
+
+  /**
+   * Removes the rows of the farms that no longer exist.
+   *
+   * @return returns the number of rows removed
+   */
+  @Modifying
+  @Query(value = "DELETE FROM farm_summary WHERE NOT EXISTS"
+      + " (SELECT 1 FROM farm f WHERE f.id = farm_summary.farm_id)", nativeQuery = true)
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "farm_summary"))
+  int deleteOrphanTotals();
+
+  /**
+   * Recomputes every row from the crop table in a single statement.
+   *
+   * @return returns the number of rows
+   */
+  @Modifying
+  @Query(value = UPDATE_TOTALS, nativeQuery = true)
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "farm_summary"))
+  int updateAllTotals();
+
+  /**
+   * Computes the totals of the farms that have no row yet, in a single
+   *        statement.
+   *
+   * @return returns the number of rows inserted
+   */
+  @Modifying
+  @Query(value = INSERT_TOTALS + TOTALS_SELECT + " WHERE" + WITHOUT_TOTALS + " GROUP BY f.id",
+      nativeQuery = true)
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "farm_summary"))
+  int insertMissingTotals();
+}
@@ -1,10 +1,76 @@
 package com.betrybe.agrix.model.repositories;
 
 import com.betrybe.agrix.model.entities.Fertilizer;
+import com.betrybe.agrix.model.projections.CollectionVersion;
+import com.betrybe.agrix.model.projections.FertilizerRow;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Creates the Fertilizer repository.
  */
 public interface FertilizerRepository extends JpaRepository<Fertilizer, Long> {
+
+  String RESPONSE_SELECT = "SELECT new com.betrybe.agrix.model.projections.FertilizerRow("
+      + "f.id, f.name, f.brand, f.composition) FROM Fertilizer f";
+
+  @Override
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+  List<Fertilizer> findAll();
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+  List<Fertilizer> findByIdGreaterThan(Long after, Pageable pageable);
+
+  @Query("SELECT COUNT(f) AS count, COALESCE(SUM(f.version), 0) AS versionSum,"
+      + " COALESCE(MAX(f.id), 0) AS maxId FROM Fertilizer f")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+  CollectionVersion findCollectionVersion();
+
+  long countByIdIn(Collection<Long> ids);
+
+  /**
+   * Searches one page of the fertilizers with at least the given nutrient
+   *        percentages, after the cursor. The indexes on the nutrient columns
+   *        let the database start from the most selective bound. Fertilizers
+   *        whose composition could not be parsed are never returned.
+   *
+   * @param minN minimum percentage of nitrogen
+   * @param minP minimum percentage of phosphorus
+   * @param minK minimum percentage of potassium
+   * @param after id of the last fertilizer of the previous page
+   * @param pageable size and order of the page
+   * @return returns the fertilizers of the page
+   */
+  @Query("SELECT f FROM Fertilizer f WHERE f.nitrogen >= :minN AND f.phosphorus >= :minP"
+      + " AND f.potassium >= :minK AND f.id > :after")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+  List<Fertilizer> findByNutrientsAfter(@Param("minN") double minN, @Param("minP") double minP,
+      @Param("minK") double minK, @Param("after") long after, Pageable pageable);
+
+  @Query("SELECT f FROM Fertilizer f WHERE f.nitrogen IS NULL AND f.composition IS NOT NULL"
+      + " AND f.id > :after")
+  List<Fertilizer> findUnparsedAfter(@Param("after") long after, Pageable pageable);
+
+  @Query(RESPONSE_SELECT)
+  List<FertilizerRow> findAllRows();
+
+  /**
+   * Searches the fertilizers whose name or brand contains the searched text,
+   *        ignoring the case. Used while the in-memory name index is not loaded.
+   *
+   * @param text searched text
+   * @param pageable limit and sort order of the search
+   * @return returns the fertilizers that meet the requirement
+   */
+  @Query(RESPONSE_SELECT + " WHERE LOWER(f.name) LIKE LOWER(CONCAT('%', :text, '%'))"
+      + " OR LOWER(f.brand) LIKE LOWER(CONCAT('%', :text, '%'))")
+  List<FertilizerRow> findByNameOrBrandContaining(@Param("text") String text,
+      Pageable pageable);
 }
@@ -1,17 +1,50 @@
 package com.betrybe.agrix.service;
 
+import com.betrybe.agrix.controller.dto.CropResponseDto;
+import com.betrybe.agrix.controller.dto.CropsDto;
+import com.betrybe.agrix.controller.dto.HarvestCalendarEntryDto;
+import com.betrybe.agrix.exceptions.CalendarNotLoadedException;
 import com.betrybe.agrix.exceptions.CropNotFoundException;
+import com.betrybe.agrix.exceptions.FarmNotFoundException;
 import com.betrybe.agrix.exceptions.FertilizerNotFoundException;
 import com.betrybe.agrix.model.entities.Crop;
-import com.betrybe.agrix.model.entities.Fertilizer;
+import com.betrybe.agrix.model.entities.Farm;
+import com.betrybe.agrix.model.projections.CollectionVersion;
+import com.betrybe.agrix.model.projections.CropRow;
 import com.betrybe.agrix.model.repositories.CropRepository;
 import com.betrybe.agrix.model.repositories.FertilizerRepository;
+import com.betrybe.agrix.util.CalendarGranularity;
+import com.betrybe.agrix.util.CropIntervalIndex;
+import com.betrybe.agrix.util.HarvestCalendar;
+import com.betrybe.agrix.util.NameSearchIndex;
+import com.betrybe.agrix.util.SearchLimits;
+import com.betrybe.agrix.util.TransactionCallbacks;
+import jakarta.persistence.EntityManager;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.hibernate.Cache;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cglib.core.Local;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Service layer for everything that interacts with the crop entity.
@@ -19,40 +52,157 @@ import org.springframework.stereotype.Service;
 @Service
 public class CropService {
 
+  public static final int BULK_BATCH_SIZE = 50;
+
+  private static final String FERTILIZERS_ROLE = Crop.class.getName() + ".fertilizers";
+
   private CropRepository cropRepository;
   private FertilizerRepository fertilizerRepository;
+  private EntityManager entityManager;
+  private TransactionTemplate transactionTemplate;
+  private CropIntervalIndex cropIntervalIndex;
+  private HarvestCalendar harvestCalendar;
+  private NameSearchIndex nameSearchIndex;
 
   /**
    * Service layer constructor.
    *
    * @param cropRepository Repository received by injection
    *        dependency
+   * @param entityManager entity manager used to clear the persistence
+   *        context while exporting
+   * @param transactionTemplate template used to save each bulk batch in
+   *        its own transaction
+   * @param cropIntervalIndex in-memory index that answers the date searches
+   * @param harvestCalendar precomputed harvest rollups per farm and period
+   * @param nameSearchIndex in-memory index that answers the name searches
    */
   @Autowired
   public CropService(CropRepository cropRepository,
-      FertilizerRepository fertilizerRepository) {
+      FertilizerRepository fertilizerRepository, EntityManager entityManager,
+      TransactionTemplate transactionTemplate, CropIntervalIndex cropIntervalIndex,
+      HarvestCalendar harvestCalendar, NameSearchIndex nameSearchIndex) {
 
     this.cropRepository = cropRepository;
     this.fertilizerRepository = fertilizerRepository;
+    this.entityManager = entityManager;
+    this.transactionTemplate = transactionTemplate;
+    this.cropIntervalIndex = cropIntervalIndex;
+    this.harvestCalendar = harvestCalendar;
+    this.nameSearchIndex = nameSearchIndex;
 
   }
 
   /**
-   * Saves the Crop by Farm id.
+   * Saves the Crop by Farm id. The farm of the crop may be a reference that
+   *        was never loaded: the farm_id foreign key is what checks that it
+   *        exists, so creating a crop costs a single insert. The harvest
+   *        calendar counts the crop once the insert is committed.
    *
    * @param newCrop receives a new crop to be saved.
    * @return returns the saved crop.
+   * @throws FarmNotFoundException if the farm of the crop does not exist
+   */
+  public Crop saveCropByFarmId(Crop newCrop) throws FarmNotFoundException {
+    try {
+
+      return this.cropRepository.save(newCrop);
+
+    } catch (DataIntegrityViolationException exception) {
+
+      if (violates(exception, Crop.FARM_FOREIGN_KEY, Crop.LEGACY_FARM_FOREIGN_KEY)) {
+        throw new FarmNotFoundException();
+      }
+      throw exception;
+
+    }
+  }
+
+  /**
+   * Checks if the write failed because of one of the given constraints, by
+   *        the name the database reported for it.
+   */
+  private static boolean violates(DataIntegrityViolationException exception,
+      String... constraints) {
+    for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConstraintViolationException violation
+          && violation.getConstraintName() != null) {
+        String name = violation.getConstraintName().toLowerCase(Locale.ROOT);
+        return Arrays.stream(constraints).anyMatch(name::contains);
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Saves a batch of the crops of a bulk request. The crops missing a field
+   *        or with an invalid date are left out with their error, and the
+   *        others are saved in a single transaction, sending the inserts as
+   *        one JDBC batch. If the batch fails, each crop is retried in its
+   *        own transaction so only the crops that fail are left out.
+   *
+   * @param farm farm of the crops
+   * @param crops crops read from the request, at most BULK_BATCH_SIZE of them
+   * @return returns the error message of each crop that was not saved, by
+   *        its position in the list
    */
-  public Crop saveCropByFarmId(Crop newCrop) {
+  public Map<Integer, String> saveCropsInBatch(Farm farm, List<CropsDto> crops) {
+    Map<Integer, String> failures = new TreeMap<>();
+    List<Crop> valid = new ArrayList<>(crops.size());
+    List<Integer> positions = new ArrayList<>(crops.size());
+
+    for (int i = 0; i < crops.size(); i++) {
+      CropsDto crop = crops.get(i);
+      if (crop.name() == null || crop.plantedArea() == null
+          || crop.plantedDate() == null || crop.harvestDate() == null) {
+        failures.put(i, "Todos os campos da plantação são obrigatórios!");
+        continue;
+      }
+
+      try {
+        valid.add(crop.toCrop(farm));
+        positions.add(i);
+      } catch (DateTimeParseException exception) {
+        failures.put(i, exception.getMessage());
+      }
+    }
 
-    Crop cropToCreate = this.cropRepository.save(newCrop);
+    saveCrops(valid).forEach((position, message) ->
+        failures.put(positions.get(position), message));
+    return failures;
+  }
 
-    Optional<Crop> cropToFound = this.cropRepository.findById(cropToCreate.getId());
+  private Map<Integer, String> saveCrops(List<Crop> crops) {
+    if (crops.isEmpty()) {
+      return Map.of();
+    }
 
-    Crop cropFound = cropToFound.get();
+    try {
+      this.transactionTemplate.executeWithoutResult(status -> {
+        this.cropRepository.saveAll(crops);
+        this.cropRepository.flush();
+        this.entityManager.clear();
+      });
+      return Map.of();
+    } catch (DataAccessException batchException) {
+      Map<Integer, String> failures = new TreeMap<>();
 
-    return cropFound;
+      for (int i = 0; i < crops.size(); i++) {
+        Crop crop = crops.get(i);
+        Crop retry = new Crop(crop.getName(), crop.getPlantedArea(), crop.getFarm(),
+            crop.getPlantedDate(), crop.getHarverstDate());
+        try {
+          this.transactionTemplate.executeWithoutResult(status -> {
+            this.cropRepository.saveAndFlush(retry);
+            this.entityManager.clear();
+          });
+        } catch (DataAccessException exception) {
+          failures.put(i, exception.getMostSpecificCause().getMessage());
+        }
+      }
 
+      return failures;
+    }
   }
 
   /**
@@ -60,10 +210,49 @@ public class CropService {
    *
    * @return returns a list of all plantations.
    */
-  public List<Crop> getAllCrops() {
-    List<Crop> allCrops = this.cropRepository.findAll();
+  public List<CropResponseDto> getAllCrops() {
+    return toResponses(this.cropRepository.findAllResponses());
+  }
+
+  /**
+   * Method that returns the aggregate version of all the plantations, which
+   *        changes whenever any of them is created, updated or removed.
+   *
+   * @return returns the version of the crops collection.
+   */
+  public CollectionVersion getCropsVersion() {
+    return this.cropRepository.findCollectionVersion();
+  }
+
+  /**
+   * Passes every plantation in the database to the consumer, reading them from
+   *        a cursor and clearing the persistence context after each fetch, so
+   *        memory use does not grow with the number of crops.
+   *
+   * @param consumer receives each crop, which is detached afterwards
+   */
+  @Transactional(readOnly = true)
+  public void exportCrops(Consumer<Crop> consumer) {
+    try (Stream<Crop> crops = this.cropRepository.streamAll()) {
+      int[] count = {0};
+      crops.forEach(crop -> {
+        consumer.accept(crop);
+        if (++count[0] % CropRepository.EXPORT_FETCH_SIZE == 0) {
+          this.entityManager.clear();
+        }
+      });
+    }
+  }
 
-    return allCrops;
+  /**
+   * Method that searches one page of plantations after the cursor.
+   *
+   * @param after id of the last crop of the previous page
+   * @param pageable size and order of the page
+   * @return returns the crops of the page.
+   */
+  public List<CropResponseDto> getCropsAfter(long after, Pageable pageable) {
+    return toResponses(this.cropRepository.findPageAfter(after, pageable));
   }
 
   /**
@@ -84,21 +273,101 @@ public class CropService {
 
   /**
    * Returns the crops with the harvest date between the
-   *        searched dates.
+   *        searched dates, ordered by harvest date. Answered by the
+   *        in-memory index once it is loaded.
    *
    * @param startingDate starting date of the search
    * @param endingDate end date of search
+   * @param limit maximum number of crops returned
+   * @return returns a list of crops that meet the requirement
+   */
+  public List<CropResponseDto> searchCropByDate(LocalDate startingDate, LocalDate endingDate,
+      int limit) {
+    int pageSize = SearchLimits.clamp(limit);
+    if (this.cropIntervalIndex.isReady()) {
+      return toResponses(this.cropIntervalIndex
+          .findByHarvestDateBetween(startingDate, endingDate, pageSize));
+    }
+
+    Pageable pageable = PageRequest.of(0, pageSize,
+        Sort.by("harverstDate").ascending().and(Sort.by("id").ascending()));
+
+    return toResponses(this.cropRepository
+        .findByHarvestDateBetween(startingDate, endingDate, pageable));
+  }
+
+  /**
+   * Returns the crops whose planting and harvest window overlaps the
+   *        searched window, or lies entirely inside it, ordered by planting
+   *        date. Answered by the in-memory index once it is loaded.
+   *
+   * @param startingDate first day of the searched window
+   * @param endingDate last day of the searched window
+   * @param within if true, only the crops planted and harvested inside the
+   *        window are returned
+   * @param limit maximum number of crops returned
+   * @return returns a list of crops that meet the requirement
+   */
+  public List<CropResponseDto> searchCropByPeriod(LocalDate startingDate, LocalDate endingDate,
+      boolean within, int limit) {
+    int pageSize = SearchLimits.clamp(limit);
+    if (this.cropIntervalIndex.isReady()) {
+      return toResponses(within
+          ? this.cropIntervalIndex.findWithin(startingDate, endingDate, pageSize)
+          : this.cropIntervalIndex.findOverlapping(startingDate, endingDate, pageSize));
+    }
+
+    Pageable pageable = PageRequest.of(0, pageSize,
+        Sort.by("plantedDate").ascending().and(Sort.by("id").ascending()));
+
+    return toResponses(within
+        ? this.cropRepository.findByPeriodWithin(startingDate, endingDate, pageable)
+        : this.cropRepository.findByPeriodOverlapping(startingDate, endingDate, pageable));
+  }
+
+  /**
+   * Returns the crops whose name starts with, or resembles, the searched
+   *        text, the best matches first. Answered by the in-memory index once
+   *        it is loaded; until then only the names containing the text are
+   *        found, in alphabetical order.
+   *
+   * @param query whole or partial name of the crop
+   * @param limit maximum number of crops returned
    * @return returns a list of crops that meet the requirement
    */
-  public List<Crop> searchCropByDate(LocalDate startingDate, LocalDate endingDate) {
+  public List<CropResponseDto> searchCropByName(String query, int limit) {
+    int pageSize = SearchLimits.clamp(limit);
+    if (this.nameSearchIndex.isReady()) {
+      return toResponses(this.nameSearchIndex.searchCrops(query, pageSize));
+    }
+
+    if (query.isBlank()) {
+      return List.of();
+    }
+    Pageable pageable = PageRequest.of(0, pageSize,
+        Sort.by("name").ascending().and(Sort.by("id").ascending()));
+
+    return toResponses(this.cropRepository.findByNameContaining(query.trim(), pageable));
+  }
 
-    List<Crop> allCrops = this.cropRepository.findAll();
-    List<Crop> cropsReturned = allCrops.stream()
-        .filter(crop -> startingDate.isBefore(crop.getHarverstDate())
-            && endingDate.isAfter(crop.getHarverstDate()))
-        .toList();
+  /**
+   * Returns the number of crops and the planted area harvested per farm and
+   *        per week or month, read from the precomputed rollups.
+   *
+   * @param granularity size of the periods
+   * @param from first day of the calendar
+   * @param to last day of the calendar
+   * @param farmId farm of the calendar, or null for all the farms
+   * @return returns one entry per farm and period with harvests
+   * @throws CalendarNotLoadedException if the rollups are still being loaded
+   */
+  public List<HarvestCalendarEntryDto> getHarvestCalendar(CalendarGranularity granularity,
+      LocalDate from, LocalDate to, Long farmId) throws CalendarNotLoadedException {
+    if (!this.harvestCalendar.isReady()) {
+      throw new CalendarNotLoadedException();
+    }
 
-    return cropsReturned;
+    return this.harvestCalendar.find(granularity, from, to, farmId);
   }
 
   /**
@@ -106,34 +375,74 @@ public class CropService {
    *
    * @param cropId id of the crop to be associated
    * @param fertilizerId id of the fertilizer to be associated
-   * @return returns the updated crop with the associated fertilizer
+   * @return returns true if the association is new, or false if the crop
+   *        already had the fertilizer
    * @throws CropNotFoundException returns an error if the crop is not
    *        is found
    * @throws FertilizerNotFoundException returns an error if the fertilizer
    *        is not found
    */
-  public Crop setFertilizer(Long cropId, Long fertilizerId)
+  public boolean setFertilizer(Long cropId, Long fertilizerId)
       throws CropNotFoundException, FertilizerNotFoundException {
 
-    Optional<Crop> optionalCrop = this.cropRepository.findById(cropId);
+    return setFertilizers(cropId, List.of(fertilizerId)) > 0;
+  }
+
+  /**
+   * Associates several fertilizers with a plantation. The ids are validated
+   *        in a single IN query and the missing associations are inserted in
+   *        a single statement, so the cost does not depend on how many
+   *        fertilizers the crop already has. When a concurrent request
+   *        inserts some of the same associations first, the statement fails
+   *        on the unique key and is run once more, which then inserts only
+   *        the ones still missing.
+   *
+   * @param cropId id of the crop to be associated
+   * @param fertilizerIds ids of the fertilizers to be associated
+   * @return returns the number of new associations
+   * @throws CropNotFoundException returns an error if the crop is not
+   *        is found
+   * @throws FertilizerNotFoundException returns an error if any of the
+   *        fertilizers is not found
+   */
+  public int setFertilizers(Long cropId, Collection<Long> fertilizerIds)
+      throws CropNotFoundException, FertilizerNotFoundException {
 
-    Optional<Fertilizer> optionalFertilizer =
-        this.fertilizerRepository.findById(fertilizerId);
+    Set<Long> distinctIds = new HashSet<>(fertilizerIds);
 
-    if (optionalFertilizer.isEmpty()) {
+    if (distinctIds.contains(null)
+        || this.fertilizerRepository.countByIdIn(distinctIds) != distinctIds.size()) {
       throw new FertilizerNotFoundException();
     }
 
-    if (optionalCrop.isEmpty()) {
+    if (!this.cropRepository.existsById(cropId)) {
       throw new CropNotFoundException();
     }
 
-    Crop cropFound = optionalCrop.get();
-    Fertilizer fertilizerFound = optionalFertilizer.get();
+    if (distinctIds.isEmpty()) {
+      return 0;
+    }
+
+    try {
+      return this.transactionTemplate.execute(status -> addFertilizers(cropId, distinctIds));
+    } catch (DataIntegrityViolationException exception) {
+      if (!violates(exception, Crop.FERTILIZER_UNIQUE_KEY, Crop.LEGACY_FERTILIZER_UNIQUE_KEY)) {
+        throw exception;
+      }
+      return this.transactionTemplate.execute(status -> addFertilizers(cropId, distinctIds));
+    }
+  }
 
-    cropFound.getFertilizers().add(fertilizerFound);
-    Crop newCrop = this.cropRepository.save(cropFound);
-    return newCrop;
+  private int addFertilizers(Long cropId, Set<Long> distinctIds) {
+    int added = this.cropRepository.addFertilizers(cropId, distinctIds);
+    if (added > 0) {
+      TransactionCallbacks.afterCommit(() -> this.entityManager.getEntityManagerFactory()
+          .getCache().unwrap(Cache.class).evictCollectionData(FERTILIZERS_ROLE, cropId));
+    }
+    return added;
   }
 
-}
\ No newline at end of file
+  private static List<CropResponseDto> toResponses(List<CropRow> rows) {
+    return rows.stream().map(CropResponseDto::fromRow).toList();
+  }
+}
@@ -1,13 +1,20 @@
 package com.betrybe.agrix.service;
 
+import com.betrybe.agrix.controller.dto.CropResponseDto;
 import com.betrybe.agrix.exceptions.FarmNotFoundException;
-import com.betrybe.agrix.model.entities.Crop;
 import com.betrybe.agrix.model.entities.Farm;
+import com.betrybe.agrix.model.projections.CollectionVersion;
+import com.betrybe.agrix.model.projections.FarmSummary;
+import com.betrybe.agrix.model.repositories.CropRepository;
 import com.betrybe.agrix.model.repositories.FarmRepository;
+import com.betrybe.agrix.model.repositories.FarmTotalsRepository;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * FarmService class, service layer for /farm endpoints.
@@ -16,16 +23,24 @@ import org.springframework.stereotype.Service;
 public class FarmService {
 
   private FarmRepository farmRepository;
+  private CropRepository cropRepository;
+  private FarmTotalsRepository farmTotalsRepository;
 
   /**
    * Constructor function of the FarmService class.
    *
    * @param farmRepository repository received from spring
    *        by dependency injection
+   * @param cropRepository crop repository received from spring
+   *        by dependency injection
+   * @param farmTotalsRepository repository of the farm_summary table
    */
   @Autowired
-  public FarmService(FarmRepository farmRepository) {
+  public FarmService(FarmRepository farmRepository, CropRepository cropRepository,
+      FarmTotalsRepository farmTotalsRepository) {
     this.farmRepository = farmRepository;
+    this.cropRepository = cropRepository;
+    this.farmTotalsRepository = farmTotalsRepository;
   }
 
   public List<Farm> getFarms() {
@@ -33,6 +48,14 @@ public class FarmService {
     return allFarms;
   }
 
+  public CollectionVersion getFarmsVersion() {
+    return this.farmRepository.findCollectionVersion();
+  }
+
+  public List<Farm> getFarmsAfter(long after, Pageable pageable) {
+    return this.farmRepository.findByIdGreaterThan(after, pageable);
+  }
+
   public Farm createFarm(Farm newFarm) {
     Farm createdFarm = this.farmRepository.save(newFarm);
     return createdFarm;
@@ -43,6 +66,55 @@ public class FarmService {
     return farmFound;
   }
 
+  /**
+   * Returns a reference to the farm without querying the database, to be
+   *        used as the owner of new crops. Reading anything other than the
+   *        id loads the farm.
+   *
+   * @param id id of the farm
+   * @return returns a lazy reference to the farm
+   */
+  public Farm getFarmReference(Long id) {
+    return this.farmRepository.getReferenceById(id);
+  }
+
+  /**
+   * Method that returns the crop totals of a farm.
+   *
+   * @param id id of the searched farm
+   * @return returns the summary of the farm
+   * @throws FarmNotFoundException if the farm is not found
+   *        found, an exception is raised.
+   */
+  public FarmSummary getFarmSummary(Long id) throws FarmNotFoundException {
+    Optional<FarmSummary> summary = this.farmRepository.findSummaryById(id, LocalDate.now());
+
+    if (summary.isEmpty()) {
+      throw new FarmNotFoundException();
+    }
+
+    return summary.get();
+  }
+
+  public List<FarmSummary> getFarmSummaries() {
+    return this.farmRepository.findAllSummaries(LocalDate.now());
+  }
+
+  /**
+   * Recomputes the whole farm_summary table from the crop table, repairing
+   *        any row that drifted from it. The rows are updated in place, so
+   *        the crop writes running meanwhile never find a farm without its
+   *        row.
+   *
+   * @return returns the number of farms summarized
+   */
+  @Transactional
+  public int rebuildFarmSummaries() {
+    this.farmTotalsRepository.deleteOrphanTotals();
+    return this.farmTotalsRepository.updateAllTotals()
+        + this.farmTotalsRepository.insertMissingTotals();
+  }
+
   /**
    * Method that returns all the crops on a farm.
    *
@@ -51,15 +123,14 @@ public class FarmService {
    * @throws FarmNotFoundException if the farm is not found
    *        found, an exception is raised.
    */
-  public List<Crop> getAllCropsFromFarm(Long id) throws FarmNotFoundException {
-    Optional<Farm> farmToFound = this.farmRepository.findById(id);
-
-    if (farmToFound.isEmpty()) {
+  public List<CropResponseDto> getAllCropsFromFarm(Long id) throws FarmNotFoundException {
+    if (!this.farmRepository.existsById(id)) {
       throw new FarmNotFoundException();
     }
 
-    Farm farmFound = farmToFound.get();
-    return farmFound.getCrops();
+    return this.cropRepository.findResponsesByFarmId(id).stream()
+        .map(CropResponseDto::fromRow)
+        .toList();
   }
 
 }
\ No newline at end of file
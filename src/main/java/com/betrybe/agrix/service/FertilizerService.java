@@ -1,12 +1,21 @@
 package com.betrybe.agrix.service;
 
+import com.betrybe.agrix.controller.dto.FertilizerResponseDto;
 import com.betrybe.agrix.exceptions.FertilizerNotFoundException;
 import com.betrybe.agrix.model.entities.Fertilizer;
+import com.betrybe.agrix.model.projections.CollectionVersion;
+import com.betrybe.agrix.model.projections.FertilizerRow;
 import com.betrybe.agrix.model.repositories.FertilizerRepository;
+import com.betrybe.agrix.util.NameSearchIndex;
+import com.betrybe.agrix.util.SearchLimits;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Creates the service layer for the /Fertilizer routes.
@@ -14,11 +23,26 @@ import org.springframework.stereotype.Service;
 @Service
 public class FertilizerService {
 
+  public static final int BACKFILL_BATCH_SIZE = 100;
+
   private FertilizerRepository fertilizerRepository;
+  private NameSearchIndex nameSearchIndex;
+  private TransactionTemplate transactionTemplate;
 
+  /**
+   * Constructor of the fertilizer service layer.
+   *
+   * @param fertilizerRepository repository received by dependency injection
+   * @param nameSearchIndex in-memory index that answers the name searches
+   * @param transactionTemplate template used to backfill each batch of
+   *        nutrients in its own transaction
+   */
   @Autowired
-  public FertilizerService(FertilizerRepository fertilizerRepository) {
+  public FertilizerService(FertilizerRepository fertilizerRepository,
+      NameSearchIndex nameSearchIndex, TransactionTemplate transactionTemplate) {
     this.fertilizerRepository = fertilizerRepository;
+    this.nameSearchIndex = nameSearchIndex;
+    this.transactionTemplate = transactionTemplate;
   }
 
   /**
@@ -43,6 +67,73 @@ public class FertilizerService {
     return this.fertilizerRepository.findAll();
   }
 
+  /**
+   * Method that returns the aggregate version of all the fertilizers, read
+   *        from the query cache while the table does not change.
+   *
+   * @return returns the version of the fertilizers collection.
+   */
+  public CollectionVersion getFertilizersVersion() {
+    return this.fertilizerRepository.findCollectionVersion();
+  }
+
+  /**
+   * Method that returns one page of fertilizers after the cursor.
+   *
+   * @param after id of the last fertilizer of the previous page
+   * @param pageable size and order of the page
+   * @return returns the fertilizers of the page.
+   */
+  public List<Fertilizer> getFertilizersAfter(long after, Pageable pageable) {
+    return this.fertilizerRepository.findByIdGreaterThan(after, pageable);
+  }
+
+  /**
+   * Method that returns one page of the fertilizers with at least the given
+   *        nutrient percentages, after the cursor.
+   *
+   * @param minN minimum percentage of nitrogen
+   * @param minP minimum percentage of phosphorus
+   * @param minK minimum percentage of potassium
+   * @param after id of the last fertilizer of the previous page
+   * @param pageable size and order of the page
+   * @return returns the fertilizers of the page.
+   */
+  public List<Fertilizer> getFertilizersByNutrients(double minN, double minP, double minK,
+      long after, Pageable pageable) {
+    return this.fertilizerRepository.findByNutrientsAfter(minN, minP, minK, after, pageable);
+  }
+
+  /**
+   * Parses the composition of the fertilizers saved before the nutrient
+   *        columns existed, BACKFILL_BATCH_SIZE at a time, each batch in its
+   *        own transaction. Compositions that cannot be parsed are left
+   *        without nutrients and are not written.
+   *
+   * @return returns the number of fertilizers that got their nutrients
+   */
+  public int backfillNutrients() {
+    Pageable pageable = PageRequest.of(0, BACKFILL_BATCH_SIZE, Sort.by("id").ascending());
+    int parsed = 0;
+    long after = 0L;
+
+    while (true) {
+      long cursor = after;
+      List<Fertilizer> batch = this.transactionTemplate.execute(status -> {
+        List<Fertilizer> unparsed = this.fertilizerRepository.findUnparsedAfter(cursor, pageable);
+        unparsed.forEach(fertilizer -> fertilizer.setComposition(fertilizer.getComposition()));
+        return unparsed;
+      });
+
+      parsed += (int) batch.stream().filter(fertilizer -> fertilizer.getNitrogen() != null)
+          .count();
+      if (batch.size() < BACKFILL_BATCH_SIZE) {
+        return parsed;
+      }
+      after = batch.get(batch.size() - 1).getId();
+    }
+  }
+
   /**
    * Method that returns the fertilizer based on the id.
    *
@@ -60,4 +151,33 @@ public class FertilizerService {
 
     return optionalFertilizer.get();
   }
-}
\ No newline at end of file
+
+  /**
+   * Method that returns the fertilizers whose name or brand starts with, or
+   *        resembles, the searched text, the name matches first. Answered by
+   *        the in-memory index once it is loaded; until then only the names
+   *        and brands containing the text are found, in alphabetical order.
+   *
+   * @param query whole or partial name or brand of the fertilizer
+   * @param limit maximum number of fertilizers returned
+   * @return returns the fertilizers that meet the requirement
+   */
+  public List<FertilizerResponseDto> searchFertilizers(String query, int limit) {
+    int pageSize = SearchLimits.clamp(limit);
+    List<FertilizerRow> rows;
+    if (this.nameSearchIndex.isReady()) {
+      rows = this.nameSearchIndex.searchFertilizers(query, pageSize);
+    } else if (query.isBlank()) {
+      rows = List.of();
+    } else {
+      Pageable pageable = PageRequest.of(0, pageSize,
+          Sort.by("name").ascending().and(Sort.by("id").ascending()));
+      rows = this.fertilizerRepository.findByNameOrBrandContaining(query.trim(), pageable);
+    }
+
+    return rows.stream()
+        .map(row -> new FertilizerResponseDto(row.id(), row.name(), row.brand(),
+            row.composition()))
+        .toList();
+  }
+}
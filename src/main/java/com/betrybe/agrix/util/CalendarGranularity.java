@@ -0,0 +1,63 @@
+package com.betrybe.agrix.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Periods in which the harvest calendar groups the crops.
+ */
+public enum CalendarGranularity {
+  WEEK,
+  MONTH;
+
+  private static final DateTimeFormatter MONTH_LABEL = DateTimeFormatter.ofPattern("yyyy-MM");
+
+  /**
+   * Reads the granularity sent as request parameter, such as week or month.
+   *
+   * @param value parameter value, in any case
+   * @return returns the granularity, or empty if the value is unknown
+   */
+  public static Optional<CalendarGranularity> fromParam(String value) {
+    for (CalendarGranularity granularity : values()) {
+      if (granularity.name().equalsIgnoreCase(value)) {
+        return Optional.of(granularity);
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Returns the first day of the period of a date: the Monday of its ISO week
+   *        or the first day of its month.
+   *
+   * @param date date inside the period
+   * @return returns the first day of the period
+   */
+  public LocalDate periodStart(LocalDate date) {
+    return this == WEEK
+        ? date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+        : date.withDayOfMonth(1);
+  }
+
+  /**
+   * Returns the label of the period that starts at the date, such as
+   *        2023-W05 or 2023-02.
+   *
+   * @param periodStart first day of the period
+   * @return returns the label of the period
+   */
+  public String label(LocalDate periodStart) {
+    if (this == MONTH) {
+      return periodStart.format(MONTH_LABEL);
+    }
+    return String.format(Locale.ROOT, "%d-W%02d",
+        periodStart.get(IsoFields.WEEK_BASED_YEAR),
+        periodStart.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+  }
+}
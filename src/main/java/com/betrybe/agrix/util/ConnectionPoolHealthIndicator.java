@@ -0,0 +1,61 @@
+package com.betrybe.agrix.util;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health indicator of the connection pool, part of the readiness group. It
+ * reports OUT_OF_SERVICE while more requests than the threshold are waiting
+ * for a connection, so the load balancer stops sending traffic before the
+ * queue grows further, and UP again once the queue drains.
+ */
+@Component
+public class ConnectionPoolHealthIndicator implements HealthIndicator {
+
+  private final DataSource dataSource;
+
+  private final int maxPending;
+
+  /**
+   * Constructor of the connection pool health indicator.
+   *
+   * @param dataSource data source of the application
+   * @param maxPending maximum number of requests waiting for a connection
+   *        while still ready
+   */
+  @Autowired
+  public ConnectionPoolHealthIndicator(DataSource dataSource,
+      @Value("${api.datasource.readiness.max-pending:10}") int maxPending) {
+    this.dataSource = dataSource;
+    this.maxPending = maxPending;
+  }
+
+  @Override
+  public Health health() {
+    HikariDataSource hikari = DataSourceUnwrapper.unwrap(this.dataSource,
+        HikariConfigMXBean.class, HikariDataSource.class);
+    if (hikari == null || hikari.getHikariPoolMXBean() == null) {
+      return Health.unknown().build();
+    }
+
+    HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+    int pending = pool.getThreadsAwaitingConnection();
+    Health.Builder builder = pending > this.maxPending ? Health.outOfService() : Health.up();
+
+    return builder
+        .withDetail("active", pool.getActiveConnections())
+        .withDetail("idle", pool.getIdleConnections())
+        .withDetail("pending", pending)
+        .withDetail("maxPending", this.maxPending)
+        .withDetail("maxPoolSize", hikari.getMaximumPoolSize())
+        .build();
+  }
+}
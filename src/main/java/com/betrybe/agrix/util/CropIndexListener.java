@@ -0,0 +1,74 @@
+package com.betrybe.agrix.util;
+
+import com.betrybe.agrix.model.entities.Crop;
+import com.betrybe.agrix.model.projections.CropRow;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Entity listener of Crop that updates the CropIntervalIndex, the
+ *        HarvestCalendar and the NameSearchIndex once the write is committed,
+ *        so crops of rolled back transactions never reach them. They are
+ *        looked up lazily because the listeners are created together with the
+ *        entity manager factory they depend on.
+ */
+public class CropIndexListener {
+
+  private final ObjectProvider<CropIntervalIndex> index;
+
+  private final ObjectProvider<HarvestCalendar> calendar;
+
+  private final ObjectProvider<NameSearchIndex> names;
+
+  /**
+   * Constructor of the crop listener.
+   *
+   * @param index interval index of the crop windows
+   * @param calendar harvest calendar rollups
+   * @param names trigram index of the crop names
+   */
+  @Autowired
+  public CropIndexListener(ObjectProvider<CropIntervalIndex> index,
+      ObjectProvider<HarvestCalendar> calendar, ObjectProvider<NameSearchIndex> names) {
+    this.index = index;
+    this.calendar = calendar;
+    this.names = names;
+  }
+
+  /**
+   * Adds or replaces the saved crop in the indexes and in the calendar.
+   *
+   * @param crop crop inserted or updated
+   */
+  @PostPersist
+  @PostUpdate
+  public void onSave(Crop crop) {
+    CropRow saved = new CropRow(crop.getId(), crop.getName(),
+        crop.getPlantedArea(), crop.getFarm() == null ? null : crop.getFarm().getId(),
+        crop.getPlantedDate(), crop.getHarverstDate());
+    TransactionCallbacks.afterCommit(() -> {
+      this.index.getObject().put(saved);
+      this.calendar.getObject().put(saved);
+      this.names.getObject().putCrop(saved);
+    });
+  }
+
+  /**
+   * Removes the crop from the indexes and from the calendar.
+   *
+   * @param crop crop removed
+   */
+  @PostRemove
+  public void onRemove(Crop crop) {
+    Long id = crop.getId();
+    TransactionCallbacks.afterCommit(() -> {
+      this.index.getObject().remove(id);
+      this.calendar.getObject().remove(id);
+      this.names.getObject().removeCrop(id);
+    });
+  }
+
+}
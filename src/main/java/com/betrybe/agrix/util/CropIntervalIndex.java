@@ -0,0 +1,241 @@
+package com.betrybe.agrix.util;
+
+import com.betrybe.agrix.model.projections.CropRow;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory index of the planting and harvest windows of all the crops, so
+ *        that the date searches are answered without querying the database.
+ *        It is loaded by the InMemoryIndexLoader once the application is
+ *        ready and then kept current by the CropIndexListener after each
+ *        committed crop write. Until it is
+ *        loaded, or when api.crops.interval-index.enabled is false, isReady
+ *        returns false and the searches must go to the database.
+ */
+@Component
+public class CropIntervalIndex {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CropIntervalIndex.class);
+
+  private final boolean enabled;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final Map<Long, CropRow> cropsById = new HashMap<>();
+
+  private final NavigableMap<HarvestKey, CropRow> cropsByHarvest = new TreeMap<>();
+
+  private final IntervalTree<CropRow> windows = new IntervalTree<>();
+
+  private final Tombstones removedWhileLoading = new Tombstones();
+
+  private volatile boolean ready;
+
+  /**
+   * Constructor of the crop interval index.
+   *
+   * @param enabled whether the index is loaded and used by the searches
+   */
+  @Autowired
+  public CropIntervalIndex(@Value("${api.crops.interval-index.enabled:true}") boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public boolean isReady() {
+    return this.ready;
+  }
+
+  /**
+   * Starts recording the removed crops, before the crops to be loaded are
+   *        read from the database.
+   */
+  public void beginLoad() {
+    if (!this.enabled) {
+      return;
+    }
+
+    this.lock.writeLock().lock();
+    try {
+      this.removedWhileLoading.start();
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Loads the crops read from the database. The crops written while they
+   *        were read reach the index through put first, so the loaded rows
+   *        never replace them, and the ones removed meanwhile are skipped.
+   *
+   * @param crops all the crops, read after beginLoad
+   */
+  public void load(List<CropRow> crops) {
+    if (!this.enabled) {
+      return;
+    }
+
+    this.lock.writeLock().lock();
+    try {
+      for (CropRow crop : crops) {
+        if (!this.cropsById.containsKey(crop.id())
+            && !this.removedWhileLoading.contains(crop.id())) {
+          add(crop);
+        }
+      }
+      this.removedWhileLoading.stop();
+      this.ready = true;
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+    LOGGER.info("Índice de datas carregado com {} plantações", crops.size());
+  }
+
+  /**
+   * Adds a crop, or replaces the previous version of it.
+   *
+   * @param crop crop that was saved
+   */
+  public void put(CropRow crop) {
+    if (!this.enabled) {
+      return;
+    }
+
+    this.lock.writeLock().lock();
+    try {
+      delete(crop.id());
+      add(crop);
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes a crop.
+   *
+   * @param id id of the crop that was removed
+   */
+  public void remove(Long id) {
+    if (!this.enabled) {
+      return;
+    }
+
+    this.lock.writeLock().lock();
+    try {
+      delete(id);
+      this.removedWhileLoading.record(id);
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Searches the crops whose harvest date is strictly between the two dates,
+   *        with the same order and bounds as the database search.
+   *
+   * @param start search start date (exclusive)
+   * @param end search end date (exclusive)
+   * @param limit maximum number of crops
+   * @return returns the crops ordered by harvest date and id
+   */
+  public List<CropRow> findByHarvestDateBetween(LocalDate start, LocalDate end,
+      int limit) {
+    if (!start.isBefore(end)) {
+      return List.of();
+    }
+
+    this.lock.readLock().lock();
+    try {
+      List<CropRow> found = new ArrayList<>(Math.min(limit, 64));
+      for (CropRow crop : this.cropsByHarvest.subMap(
+          new HarvestKey(start, Long.MAX_VALUE), false,
+          new HarvestKey(end, Long.MIN_VALUE), false).values()) {
+        if (found.size() >= limit) {
+          break;
+        }
+        found.add(crop);
+      }
+      return found;
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Searches the crops whose planting and harvest window shares at least one
+   *        day with [start, end].
+   *
+   * @param start first day of the window
+   * @param end last day of the window
+   * @param limit maximum number of crops
+   * @return returns the crops ordered by planting date and id
+   */
+  public List<CropRow> findOverlapping(LocalDate start, LocalDate end, int limit) {
+    this.lock.readLock().lock();
+    try {
+      return this.windows.findOverlapping(start, end, limit);
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Searches the crops planted and harvested inside [start, end].
+   *
+   * @param start first day of the window
+   * @param end last day of the window
+   * @param limit maximum number of crops
+   * @return returns the crops ordered by planting date and id
+   */
+  public List<CropRow> findWithin(LocalDate start, LocalDate end, int limit) {
+    this.lock.readLock().lock();
+    try {
+      return this.windows.findWithin(start, end, limit);
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  private void add(CropRow crop) {
+    this.cropsById.put(crop.id(), crop);
+    if (crop.harvestDate() != null) {
+      this.cropsByHarvest.put(new HarvestKey(crop.harvestDate(), crop.id()), crop);
+      if (crop.plantedDate() != null) {
+        this.windows.insert(crop.plantedDate(), crop.harvestDate(), crop.id(), crop);
+      }
+    }
+  }
+
+  private void delete(Long id) {
+    CropRow previous = this.cropsById.remove(id);
+    if (previous == null || previous.harvestDate() == null) {
+      return;
+    }
+
+    this.cropsByHarvest.remove(new HarvestKey(previous.harvestDate(), id));
+    if (previous.plantedDate() != null) {
+      this.windows.remove(previous.plantedDate(), id);
+    }
+  }
+
+  private record HarvestKey(LocalDate harvestDate, long id) implements Comparable<HarvestKey> {
+
+    @Override
+    public int compareTo(HarvestKey other) {
+      int comparison = this.harvestDate.compareTo(other.harvestDate);
+      return comparison != 0 ? comparison : Long.compare(this.id, other.id);
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package com.betrybe.agrix.util;
+
+import com.betrybe.agrix.model.entities.Crop;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the crop id generator past the ids already in the crop table, before
+ *        the application takes requests. The crops saved while the ids came
+ *        from an IDENTITY column are still there, and the crop_seq generator
+ *        created next to them by ddl-auto=update starts at 1. Hibernate
+ *        hands out the ids from value - allocationSize + 1 up to each value
+ *        it reads, so the next value must be at least MAX(id) +
+ *        allocationSize. The generator is a sequence on the databases that
+ *        have them and a one row table on MySQL.
+ */
+@Component
+public class CropSequenceInitializer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CropSequenceInitializer.class);
+
+  private final EntityManagerFactory entityManagerFactory;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  public CropSequenceInitializer(EntityManagerFactory entityManagerFactory,
+      JdbcTemplate jdbcTemplate) {
+    this.entityManagerFactory = entityManagerFactory;
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Raises the next value of the generator to MAX(id) + allocationSize when
+   *        it is lower. It is never lowered.
+   */
+  @PostConstruct
+  public void seed() {
+    Long maxId = this.jdbcTemplate.queryForObject("SELECT MAX(id) FROM crop", Long.class);
+    if (maxId == null) {
+      return;
+    }
+
+    long nextValue = maxId + Crop.ID_ALLOCATION_SIZE;
+    Dialect dialect = this.entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+        .getJdbcServices()
+        .getDialect();
+    SequenceSupport sequences = dialect.getSequenceSupport();
+
+    if (sequences.supportsSequences()) {
+      Long current = this.jdbcTemplate.queryForObject(
+          sequences.getSequenceNextValString(Crop.ID_SEQUENCE), Long.class);
+      if (current != null && current >= nextValue) {
+        return;
+      }
+      this.jdbcTemplate.execute("ALTER SEQUENCE " + Crop.ID_SEQUENCE + " RESTART WITH "
+          + nextValue);
+    } else if (this.jdbcTemplate.update("UPDATE " + Crop.ID_SEQUENCE + " SET next_val = ?"
+        + " WHERE next_val < ?", nextValue, nextValue) == 0) {
+      return;
+    }
+
+    LOGGER.info("Gerador {} ajustado para começar depois do id {}", Crop.ID_SEQUENCE, maxId);
+  }
+}
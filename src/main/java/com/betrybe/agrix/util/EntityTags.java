@@ -0,0 +1,35 @@
+package com.betrybe.agrix.util;
+
+import com.betrybe.agrix.model.projections.CollectionVersion;
+
+/**
+ * Builds the strong ETags of the routes from the version columns, so that a
+ *        request with a matching If-None-Match is answered with 304 before
+ *        the body is serialized, and, for the collections, before it is loaded.
+ */
+public final class EntityTags {
+
+  private EntityTags() {}
+
+  /**
+   * Builds the ETag of a single row.
+   *
+   * @param id id of the row
+   * @param version value of its version column
+   * @return returns the quoted ETag
+   */
+  public static String of(Long id, long version) {
+    return "\"" + id + "-" + version + "\"";
+  }
+
+  /**
+   * Builds the ETag of all the rows of a table.
+   *
+   * @param collectionVersion aggregate version of the table
+   * @return returns the quoted ETag
+   */
+  public static String of(CollectionVersion collectionVersion) {
+    return "\"" + collectionVersion.getCount() + "-" + collectionVersion.getVersionSum()
+        + "-" + collectionVersion.getMaxId() + "\"";
+  }
+}
@@ -0,0 +1,255 @@
+package com.betrybe.agrix.util;
+
+import com.betrybe.agrix.model.entities.Crop;
+import com.betrybe.agrix.model.entities.Farm;
+import com.betrybe.agrix.model.repositories.FarmTotalsRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Entity listener of Crop and Farm that keeps the farm_summary table current
+ *        in the same transaction as the writes. The crops inserted by a
+ *        transaction are summed per farm and applied with one UPDATE per farm
+ *        right before the commit, after Hibernate flushed them. Updated or
+ *        removed crops, including crops moved to another farm, have the
+ *        totals of their farms recomputed in place, since the earliest and
+ *        latest harvest dates cannot be undone incrementally. A farm whose
+ *        row is missing gets it inserted, and the row of a removed farm is
+ *        removed with it.
+ */
+public class FarmSummaryMaintainer {
+
+  private static final String SPACE = "farm_summary";
+
+  private static final String INSERT_EMPTY = "INSERT INTO farm_summary (farm_id, crop_count,"
+      + " planted_area) VALUES (:farmId, 0, 0)";
+
+  private static final String ADD_CROPS = "UPDATE farm_summary SET"
+      + " crop_count = crop_count + :cropCount, planted_area = planted_area + :plantedArea,"
+      + " earliest_harvest_date = CASE WHEN earliest_harvest_date IS NULL"
+      + " OR earliest_harvest_date > :earliest THEN :earliest ELSE earliest_harvest_date END,"
+      + " latest_harvest_date = CASE WHEN latest_harvest_date IS NULL"
+      + " OR latest_harvest_date < :latest THEN :latest ELSE latest_harvest_date END"
+      + " WHERE farm_id = :farmId";
+
+  private static final String UPDATE_TOTALS = FarmTotalsRepository.UPDATE_TOTALS
+      + " WHERE farm_id = :farmId";
+
+  private static final String INSERT_MISSING_TOTALS = FarmTotalsRepository.INSERT_TOTALS
+      + FarmTotalsRepository.TOTALS_SELECT + " WHERE f.id = :farmId AND"
+      + FarmTotalsRepository.WITHOUT_TOTALS + " GROUP BY f.id";
+
+  private static final String DELETE_TOTALS = "DELETE FROM farm_summary WHERE farm_id = :farmId";
+
+  private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+  /**
+   * Constructor of the farm summary listener.
+   *
+   * @param entityManagerFactory factory of the entity managers, looked up
+   *        lazily because the listeners are created together with it
+   */
+  @Autowired
+  public FarmSummaryMaintainer(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+    this.entityManagerFactory = entityManagerFactory;
+  }
+
+  /**
+   * Remembers the farm of a loaded crop.
+   *
+   * @param entity crop or farm loaded
+   */
+  @PostLoad
+  public void onLoad(Object entity) {
+    if (entity instanceof Crop crop) {
+      crop.setLoadedFarmId(farmIdOf(crop));
+    }
+  }
+
+  /**
+   * Adds the new crop to the totals of its farm, or gives the new farm an
+   *        empty row.
+   *
+   * @param entity crop or farm inserted
+   */
+  @PostPersist
+  public void onPersist(Object entity) {
+    if (entity instanceof Farm farm) {
+      changes().ifPresent(changes -> changes.createdFarms.add(farm.getId()));
+    } else if (entity instanceof Crop crop && crop.getFarm() != null) {
+      crop.setLoadedFarmId(farmIdOf(crop));
+      changes().ifPresent(changes -> changes.addedCrops
+          .computeIfAbsent(crop.getFarm().getId(), farmId -> new AddedCrops())
+          .add(crop.getPlantedArea(), crop.getHarverstDate()));
+    }
+  }
+
+  /**
+   * Recomputes the farm of the updated crop, and its previous farm when the
+   *        crop was moved.
+   *
+   * @param entity crop or farm updated
+   */
+  @PostUpdate
+  public void onUpdate(Object entity) {
+    if (!(entity instanceof Crop crop)) {
+      return;
+    }
+
+    Long previousFarmId = crop.getLoadedFarmId();
+    crop.setLoadedFarmId(farmIdOf(crop));
+    changes().ifPresent(changes -> {
+      if (crop.getFarm() != null) {
+        changes.recomputedFarms.add(crop.getFarm().getId());
+      }
+      if (previousFarmId != null) {
+        changes.recomputedFarms.add(previousFarmId);
+      }
+    });
+  }
+
+  /**
+   * Recomputes the farm of the removed crop, or removes the row of the
+   *        removed farm.
+   *
+   * @param entity crop or farm removed
+   */
+  @PostRemove
+  public void onRemove(Object entity) {
+    if (entity instanceof Farm farm) {
+      changes().ifPresent(changes -> changes.deletedFarms.add(farm.getId()));
+    } else if (entity instanceof Crop crop && crop.getFarm() != null) {
+      changes().ifPresent(changes -> changes.recomputedFarms.add(crop.getFarm().getId()));
+    }
+  }
+
+  private static Long farmIdOf(Crop crop) {
+    return crop.getFarm() == null ? null : crop.getFarm().getId();
+  }
+
+  /**
+   * Returns the changes of the current transaction, bound to its session
+   *        until it completes. The first change registers their application
+   *        with Hibernate, which runs it after the flush of the commit.
+   */
+  private Optional<Changes> changes() {
+    EntityManager entityManager = EntityManagerFactoryUtils
+        .getTransactionalEntityManager(this.entityManagerFactory.getObject());
+    if (entityManager == null) {
+      return Optional.empty();
+    }
+
+    SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+    Changes changes = (Changes) TransactionSynchronizationManager.getResource(session);
+    if (changes == null) {
+      Changes created = new Changes();
+      TransactionSynchronizationManager.bindResource(session, created);
+      session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess)
+          completing -> apply(created, completing));
+      session.getActionQueue().registerProcess((AfterTransactionCompletionProcess)
+          (success, completing) -> TransactionSynchronizationManager
+              .unbindResourceIfPossible(session));
+      changes = created;
+    }
+    return Optional.of(changes);
+  }
+
+  private static void apply(Changes changes, SessionImplementor session) {
+    for (Long farmId : changes.createdFarms) {
+      execute(session, INSERT_EMPTY, farmId);
+    }
+
+    changes.addedCrops.forEach((farmId, added) -> {
+      if (changes.recomputedFarms.contains(farmId)) {
+        return;
+      }
+      int updated = session.createNativeMutationQuery(ADD_CROPS)
+          .setHint(HibernateHints.HINT_NATIVE_SPACES, SPACE)
+          .setParameter("cropCount", added.cropCount)
+          .setParameter("plantedArea", added.plantedArea)
+          .setParameter("earliest", added.earliest, LocalDate.class)
+          .setParameter("latest", added.latest, LocalDate.class)
+          .setParameter("farmId", farmId)
+          .executeUpdate();
+      if (updated == 0) {
+        recompute(session, farmId);
+      }
+    });
+
+    for (Long farmId : changes.recomputedFarms) {
+      recompute(session, farmId);
+    }
+
+    for (Long farmId : changes.deletedFarms) {
+      execute(session, DELETE_TOTALS, farmId);
+    }
+  }
+
+  /**
+   * Recomputes the row of the farm in place, inserting it only when it is
+   *        missing.
+   */
+  private static void recompute(SessionImplementor session, Long farmId) {
+    if (execute(session, UPDATE_TOTALS, farmId) == 0) {
+      execute(session, INSERT_MISSING_TOTALS, farmId);
+    }
+  }
+
+  private static int execute(SessionImplementor session, String sql, Long farmId) {
+    return session.createNativeMutationQuery(sql)
+        .setHint(HibernateHints.HINT_NATIVE_SPACES, SPACE)
+        .setParameter("farmId", farmId)
+        .executeUpdate();
+  }
+
+  /**
+   * Farm writes of one transaction not yet applied to farm_summary.
+   */
+  private static class Changes {
+
+    private final Set<Long> createdFarms = new HashSet<>();
+    private final Map<Long, AddedCrops> addedCrops = new LinkedHashMap<>();
+    private final Set<Long> recomputedFarms = new HashSet<>();
+    private final Set<Long> deletedFarms = new HashSet<>();
+  }
+
+  /**
+   * Totals of the crops inserted in one farm by one transaction.
+   */
+  private static class AddedCrops {
+
+    private long cropCount;
+    private double plantedArea;
+    private LocalDate earliest;
+    private LocalDate latest;
+
+    void add(Double area, LocalDate harvestDate) {
+      this.cropCount++;
+      this.plantedArea += area == null ? 0.0 : area;
+      if (harvestDate != null) {
+        this.earliest = this.earliest == null || harvestDate.isBefore(this.earliest)
+            ? harvestDate : this.earliest;
+        this.latest = this.latest == null || harvestDate.isAfter(this.latest)
+            ? harvestDate : this.latest;
+      }
+    }
+  }
+}
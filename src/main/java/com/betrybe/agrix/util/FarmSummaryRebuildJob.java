@@ -0,0 +1,49 @@
+package com.betrybe.agrix.util;
+
+import com.betrybe.agrix.service.FarmService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the farm_summary table when the application starts, which also
+ *        fills it for the farms created before it existed, and then on the
+ *        api.farm-summary.rebuild-cron schedule, to repair rows changed by
+ *        writes that bypass Hibernate.
+ */
+@Component
+public class FarmSummaryRebuildJob {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(FarmSummaryRebuildJob.class);
+
+  private final FarmService farmService;
+
+  @Autowired
+  public FarmSummaryRebuildJob(FarmService farmService) {
+    this.farmService = farmService;
+  }
+
+  /**
+   * Rebuilds the table once the application is ready. A failure is only
+   *        logged: the rows stay as they were and the next scheduled rebuild
+   *        repairs them.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildOnStartup() {
+    try {
+      rebuild();
+    } catch (RuntimeException exception) {
+      LOGGER.error("Falha ao reconstruir o resumo das fazendas", exception);
+    }
+  }
+
+  @Scheduled(cron = "${api.farm-summary.rebuild-cron:0 0 3 * * *}")
+  public void rebuild() {
+    int farms = this.farmService.rebuildFarmSummaries();
+    LOGGER.info("Resumo das fazendas reconstruído para {} fazendas", farms);
+  }
+}
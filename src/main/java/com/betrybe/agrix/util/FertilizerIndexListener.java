@@ -0,0 +1,47 @@
+package com.betrybe.agrix.util;
+
+import com.betrybe.agrix.model.entities.Fertilizer;
+import com.betrybe.agrix.model.projections.FertilizerRow;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Entity listener of Fertilizer that updates the NameSearchIndex once the
+ *        write is committed, in the same way as the CropIndexListener.
+ */
+public class FertilizerIndexListener {
+
+  private final ObjectProvider<NameSearchIndex> names;
+
+  @Autowired
+  public FertilizerIndexListener(ObjectProvider<NameSearchIndex> names) {
+    this.names = names;
+  }
+
+  /**
+   * Adds or replaces the saved fertilizer in the index.
+   *
+   * @param fertilizer fertilizer inserted or updated
+   */
+  @PostPersist
+  @PostUpdate
+  public void onSave(Fertilizer fertilizer) {
+    FertilizerRow saved = new FertilizerRow(fertilizer.getId(),
+        fertilizer.getName(), fertilizer.getBrand(), fertilizer.getComposition());
+    TransactionCallbacks.afterCommit(() -> this.names.getObject().putFertilizer(saved));
+  }
+
+  /**
+   * Removes the fertilizer from the index.
+   *
+   * @param fertilizer fertilizer removed
+   */
+  @PostRemove
+  public void onRemove(Fertilizer fertilizer) {
+    Long id = fertilizer.getId();
+    TransactionCallbacks.afterCommit(() -> this.names.getObject().removeFertilizer(id));
+  }
+}
@@ -0,0 +1,33 @@
+package com.betrybe.agrix.util;
+
+import com.betrybe.agrix.service.FertilizerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the nutrient columns of the fertilizers saved before they existed,
+ *        once the application is ready. The fertilizers saved afterwards get
+ *        them when their composition is set.
+ */
+@Component
+public class FertilizerNutrientBackfill {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(FertilizerNutrientBackfill.class);
+
+  private final FertilizerService fertilizerService;
+
+  @Autowired
+  public FertilizerNutrientBackfill(FertilizerService fertilizerService) {
+    this.fertilizerService = fertilizerService;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfill() {
+    int parsed = this.fertilizerService.backfillNutrients();
+    LOGGER.info("Nutrientes extraídos da composição de {} fertilizantes", parsed);
+  }
+}
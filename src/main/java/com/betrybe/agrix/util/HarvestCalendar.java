@@ -0,0 +1,207 @@
+package com.betrybe.agrix.util;
+
+import com.betrybe.agrix.controller.dto.HarvestCalendarEntryDto;
+import com.betrybe.agrix.model.projections.CropRow;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Precomputed crop count and planted area harvested per farm and per ISO week
+ *        or month. It is loaded by the InMemoryIndexLoader once the
+ *        application is ready, before the readiness probe accepts traffic,
+ *        and kept current by the CropIndexListener after each committed crop
+ *        write, so reading a calendar never touches the crop table.
+ */
+@Component
+public class HarvestCalendar {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(HarvestCalendar.class);
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final Map<Long, Harvest> harvestsByCrop = new HashMap<>();
+
+  private final Map<Long, Map<CalendarGranularity, NavigableMap<LocalDate, Rollup>>> farms =
+      new TreeMap<>();
+
+  private final Tombstones removedWhileLoading = new Tombstones();
+
+  private volatile boolean ready;
+
+  public boolean isReady() {
+    return this.ready;
+  }
+
+  /**
+   * Starts recording the removed crops, before the crops to be rolled up
+   *        are read from the database.
+   */
+  public void beginLoad() {
+    this.lock.writeLock().lock();
+    try {
+      this.removedWhileLoading.start();
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Rolls up the crops read from the database. The crops written while they
+   *        were read are counted through put first and are skipped, and so
+   *        are the ones removed meanwhile.
+   *
+   * @param crops all the crops, read after beginLoad
+   */
+  public void load(List<CropRow> crops) {
+    this.lock.writeLock().lock();
+    try {
+      for (CropRow crop : crops) {
+        if (!this.harvestsByCrop.containsKey(crop.id())
+            && !this.removedWhileLoading.contains(crop.id())) {
+          add(crop);
+        }
+      }
+      this.removedWhileLoading.stop();
+      this.ready = true;
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+    LOGGER.info("Calendário de colheitas carregado com {} plantações", crops.size());
+  }
+
+  /**
+   * Counts a saved crop, moving it out of the periods of its previous version.
+   *
+   * @param crop crop that was saved
+   */
+  public void put(CropRow crop) {
+    this.lock.writeLock().lock();
+    try {
+      delete(crop.id());
+      add(crop);
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Stops counting a removed crop.
+   *
+   * @param id id of the crop that was removed
+   */
+  public void remove(Long id) {
+    this.lock.writeLock().lock();
+    try {
+      delete(id);
+      this.removedWhileLoading.record(id);
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the periods with harvests between the two dates, ordered by farm
+   *        and period. Periods without harvests are left out.
+   *
+   * @param granularity size of the periods
+   * @param from first day searched; its whole period is returned
+   * @param to last day searched
+   * @param farmId farm of the calendar, or null for all the farms
+   * @return returns one entry per farm and period
+   */
+  public List<HarvestCalendarEntryDto> find(CalendarGranularity granularity, LocalDate from,
+      LocalDate to, Long farmId) {
+    LocalDate firstPeriod = granularity.periodStart(from);
+    if (firstPeriod.isAfter(to)) {
+      return List.of();
+    }
+
+    this.lock.readLock().lock();
+    try {
+      List<HarvestCalendarEntryDto> entries = new ArrayList<>();
+      if (farmId != null) {
+        Map<CalendarGranularity, NavigableMap<LocalDate, Rollup>> farm = this.farms.get(farmId);
+        if (farm != null) {
+          addPeriods(entries, farmId, farm.get(granularity), granularity, firstPeriod, to);
+        }
+        return entries;
+      }
+
+      this.farms.forEach((id, farm) ->
+          addPeriods(entries, id, farm.get(granularity), granularity, firstPeriod, to));
+      return entries;
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  private static void addPeriods(List<HarvestCalendarEntryDto> entries, Long farmId,
+      NavigableMap<LocalDate, Rollup> periods, CalendarGranularity granularity,
+      LocalDate firstPeriod, LocalDate to) {
+    periods.subMap(firstPeriod, true, to, true)
+        .forEach((periodStart, rollup) -> entries.add(new HarvestCalendarEntryDto(farmId,
+            granularity.label(periodStart), periodStart, rollup.cropCount,
+            rollup.plantedArea)));
+  }
+
+  private void add(CropRow crop) {
+    if (crop.farmId() == null || crop.harvestDate() == null) {
+      return;
+    }
+
+    double plantedArea = crop.plantedArea() == null ? 0.0 : crop.plantedArea();
+    Harvest harvest = new Harvest(crop.farmId(), crop.harvestDate(), plantedArea);
+    this.harvestsByCrop.put(crop.id(), harvest);
+    update(harvest, 1);
+  }
+
+  private void delete(Long id) {
+    Harvest previous = this.harvestsByCrop.remove(id);
+    if (previous != null) {
+      update(previous, -1);
+    }
+  }
+
+  private void update(Harvest harvest, int sign) {
+    Map<CalendarGranularity, NavigableMap<LocalDate, Rollup>> farm = this.farms
+        .computeIfAbsent(harvest.farmId(), id -> {
+          Map<CalendarGranularity, NavigableMap<LocalDate, Rollup>> periods =
+              new EnumMap<>(CalendarGranularity.class);
+          for (CalendarGranularity granularity : CalendarGranularity.values()) {
+            periods.put(granularity, new TreeMap<>());
+          }
+          return periods;
+        });
+
+    for (CalendarGranularity granularity : CalendarGranularity.values()) {
+      NavigableMap<LocalDate, Rollup> periods = farm.get(granularity);
+      LocalDate periodStart = granularity.periodStart(harvest.harvestDate());
+      Rollup rollup = periods.computeIfAbsent(periodStart, start -> new Rollup());
+      rollup.cropCount += sign;
+      rollup.plantedArea += sign * harvest.plantedArea();
+      if (rollup.cropCount == 0) {
+        periods.remove(periodStart);
+      }
+    }
+  }
+
+  private record Harvest(Long farmId, LocalDate harvestDate, double plantedArea) {
+  }
+
+  private static class Rollup {
+
+    private long cropCount;
+    private double plantedArea;
+  }
+}
@@ -0,0 +1,71 @@
+package com.betrybe.agrix.util;
+
+import com.betrybe.agrix.model.projections.CropRow;
+import com.betrybe.agrix.model.projections.FertilizerRow;
+import com.betrybe.agrix.model.repositories.CropRepository;
+import com.betrybe.agrix.model.repositories.FertilizerRepository;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the CropIntervalIndex, the HarvestCalendar and the NameSearchIndex
+ *        once the application is ready, reading all the crops with a single
+ *        query shared by the three. The removals committed while the query
+ *        runs are recorded by each of them and skipped by the load.
+ */
+@Component
+public class InMemoryIndexLoader {
+
+  private final CropRepository cropRepository;
+
+  private final FertilizerRepository fertilizerRepository;
+
+  private final CropIntervalIndex cropIntervalIndex;
+
+  private final HarvestCalendar harvestCalendar;
+
+  private final NameSearchIndex nameSearchIndex;
+
+  /**
+   * Constructor of the index loader.
+   *
+   * @param cropRepository repository the crops are read from
+   * @param fertilizerRepository repository the fertilizers are read from
+   * @param cropIntervalIndex interval index of the crop windows
+   * @param harvestCalendar harvest calendar rollups
+   * @param nameSearchIndex trigram index of the crop and fertilizer names
+   */
+  @Autowired
+  public InMemoryIndexLoader(CropRepository cropRepository,
+      FertilizerRepository fertilizerRepository, CropIntervalIndex cropIntervalIndex,
+      HarvestCalendar harvestCalendar, NameSearchIndex nameSearchIndex) {
+    this.cropRepository = cropRepository;
+    this.fertilizerRepository = fertilizerRepository;
+    this.cropIntervalIndex = cropIntervalIndex;
+    this.harvestCalendar = harvestCalendar;
+    this.nameSearchIndex = nameSearchIndex;
+  }
+
+  /**
+   * Reads all the crops, and the fertilizers when the name index is enabled,
+   *        and loads them into the three in-memory structures.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    this.cropIntervalIndex.beginLoad();
+    this.harvestCalendar.beginLoad();
+    this.nameSearchIndex.beginLoad();
+
+    List<CropRow> crops = this.cropRepository.findAllResponses();
+    List<FertilizerRow> fertilizers = this.nameSearchIndex.isEnabled()
+        ? this.fertilizerRepository.findAllRows()
+        : List.of();
+
+    this.cropIntervalIndex.load(crops);
+    this.harvestCalendar.load(crops);
+    this.nameSearchIndex.load(crops, fertilizers);
+  }
+}
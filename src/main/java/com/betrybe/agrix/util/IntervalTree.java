@@ -0,0 +1,244 @@
+package com.betrybe.agrix.util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Interval tree over date ranges, kept as a treap ordered by start date and
+ *        id, where every node also holds the latest and the earliest end of
+ *        its subtree. Inserts and removals take O(log n) expected time, and
+ *        findOverlapping visits O(k log n) nodes for k results. findWithin
+ *        prunes subtrees only by their earliest end, so it may visit every
+ *        interval that starts inside the window. Not thread safe.
+ *
+ * @param <T> type of the values stored with each interval
+ */
+public class IntervalTree<T> {
+
+  private Node<T> root;
+
+  private int size;
+
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Adds an interval. The id must not be in the tree already.
+   *
+   * @param start first day of the interval
+   * @param end last day of the interval
+   * @param id id that breaks the ties between intervals with the same start
+   * @param value value returned by the searches
+   */
+  public void insert(LocalDate start, LocalDate end, long id, T value) {
+    Node<T> node = new Node<>(start, end, id, value, ThreadLocalRandom.current().nextInt());
+    this.root = insertNode(this.root, node);
+    this.size++;
+  }
+
+  /**
+   * Removes an interval.
+   *
+   * @param start first day of the interval, as it was inserted
+   * @param id id of the interval
+   * @return returns true if the interval was in the tree
+   */
+  public boolean remove(LocalDate start, long id) {
+    int sizeBefore = this.size;
+    this.root = removeNode(this.root, start, id);
+    return this.size < sizeBefore;
+  }
+
+  /**
+   * Searches the intervals that share at least one day with [from, to],
+   *        ordered by start date and id.
+   *
+   * @param from first day of the searched window
+   * @param to last day of the searched window
+   * @param limit maximum number of results
+   * @return returns the values of the intervals found
+   */
+  public List<T> findOverlapping(LocalDate from, LocalDate to, int limit) {
+    List<T> found = new ArrayList<>(Math.min(limit, 64));
+    collectOverlapping(this.root, from, to, limit, found);
+    return found;
+  }
+
+  /**
+   * Searches the intervals that lie entirely inside [from, to], ordered by
+   *        start date and id. The intervals that start inside the window but
+   *        end after it are visited and skipped, so the cost grows with them
+   *        and not only with the number of results.
+   *
+   * @param from first day of the searched window
+   * @param to last day of the searched window
+   * @param limit maximum number of results
+   * @return returns the values of the intervals found
+   */
+  public List<T> findWithin(LocalDate from, LocalDate to, int limit) {
+    List<T> found = new ArrayList<>(Math.min(limit, 64));
+    collectWithin(this.root, from, to, limit, found);
+    return found;
+  }
+
+  private static <T> void collectOverlapping(Node<T> node, LocalDate from, LocalDate to, int limit,
+      List<T> found) {
+    if (node == null || found.size() >= limit || node.maxEnd.isBefore(from)) {
+      return;
+    }
+
+    collectOverlapping(node.left, from, to, limit, found);
+    if (found.size() >= limit || node.start.isAfter(to)) {
+      return;
+    }
+    if (!node.end.isBefore(from)) {
+      found.add(node.value);
+    }
+    collectOverlapping(node.right, from, to, limit, found);
+  }
+
+  private static <T> void collectWithin(Node<T> node, LocalDate from, LocalDate to, int limit,
+      List<T> found) {
+    if (node == null || found.size() >= limit || node.minEnd.isAfter(to)) {
+      return;
+    }
+
+    if (!node.start.isBefore(from)) {
+      collectWithin(node.left, from, to, limit, found);
+    }
+    if (found.size() >= limit || node.start.isAfter(to)) {
+      return;
+    }
+    if (!node.start.isBefore(from) && !node.end.isAfter(to)) {
+      found.add(node.value);
+    }
+    collectWithin(node.right, from, to, limit, found);
+  }
+
+  private static <T> Node<T> insertNode(Node<T> node, Node<T> inserted) {
+    if (node == null) {
+      return inserted;
+    }
+
+    if (compare(inserted.start, inserted.id, node) < 0) {
+      node.left = insertNode(node.left, inserted);
+      if (node.left.priority > node.priority) {
+        node = rotateRight(node);
+      }
+    } else {
+      node.right = insertNode(node.right, inserted);
+      if (node.right.priority > node.priority) {
+        node = rotateLeft(node);
+      }
+    }
+    node.update();
+    return node;
+  }
+
+  private Node<T> removeNode(Node<T> node, LocalDate start, long id) {
+    if (node == null) {
+      return null;
+    }
+
+    int comparison = compare(start, id, node);
+    if (comparison == 0) {
+      this.size--;
+      return merge(node.left, node.right);
+    }
+    if (comparison < 0) {
+      node.left = removeNode(node.left, start, id);
+    } else {
+      node.right = removeNode(node.right, start, id);
+    }
+    node.update();
+    return node;
+  }
+
+  private static <T> Node<T> merge(Node<T> left, Node<T> right) {
+    if (left == null) {
+      return right;
+    }
+    if (right == null) {
+      return left;
+    }
+
+    if (left.priority > right.priority) {
+      left.right = merge(left.right, right);
+      left.update();
+      return left;
+    }
+    right.left = merge(left, right.left);
+    right.update();
+    return right;
+  }
+
+  private static <T> Node<T> rotateRight(Node<T> node) {
+    Node<T> left = node.left;
+    node.left = left.right;
+    left.right = node;
+    node.update();
+    return left;
+  }
+
+  private static <T> Node<T> rotateLeft(Node<T> node) {
+    Node<T> right = node.right;
+    node.right = right.left;
+    right.left = node;
+    node.update();
+    return right;
+  }
+
+  private static int compare(LocalDate start, long id, Node<?> node) {
+    int comparison = start.compareTo(node.start);
+    return comparison != 0 ? comparison : Long.compare(id, node.id);
+  }
+
+  private static class Node<T> {
+
+    private final LocalDate start;
+    private final LocalDate end;
+    private final long id;
+    private final T value;
+    private final int priority;
+    private Node<T> left;
+    private Node<T> right;
+    private LocalDate maxEnd;
+    private LocalDate minEnd;
+
+    Node(LocalDate start, LocalDate end, long id, T value, int priority) {
+      this.start = start;
+      this.end = end;
+      this.id = id;
+      this.value = value;
+      this.priority = priority;
+      this.maxEnd = end;
+      this.minEnd = end;
+    }
+
+    void update() {
+      LocalDate max = this.end;
+      LocalDate min = this.end;
+      if (this.left != null) {
+        max = later(max, this.left.maxEnd);
+        min = earlier(min, this.left.minEnd);
+      }
+      if (this.right != null) {
+        max = later(max, this.right.maxEnd);
+        min = earlier(min, this.right.minEnd);
+      }
+      this.maxEnd = max;
+      this.minEnd = min;
+    }
+
+    private static LocalDate later(LocalDate first, LocalDate second) {
+      return first.isAfter(second) ? first : second;
+    }
+
+    private static LocalDate earlier(LocalDate first, LocalDate second) {
+      return first.isBefore(second) ? first : second;
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package com.betrybe.agrix.util;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Helpers for the opt-in keyset (cursor) pagination of the listing routes,
+ *        used through the ?after=id&amp;limit=n query parameters.
+ */
+public final class KeysetPagination {
+
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  public static final int DEFAULT_LIMIT = 100;
+
+  public static final int MAX_LIMIT = 1000;
+
+  private KeysetPagination() {}
+
+  /**
+   * Checks if the request asked for cursor mode.
+   *
+   * @param after id of the last row of the previous page
+   * @param limit requested page size
+   * @return returns true if any of the cursor parameters was sent
+   */
+  public static boolean isRequested(Long after, Integer limit) {
+    return after != null || limit != null;
+  }
+
+  /**
+   * Returns the cursor to be used in the search, starting before the first id.
+   *
+   * @param after id of the last row of the previous page, or null
+   * @return returns the id after which the page starts
+   */
+  public static long cursor(Long after) {
+    return after == null ? 0L : after;
+  }
+
+  /**
+   * Builds the first page ordered by id with the requested size, limited
+   *        to MAX_LIMIT rows.
+   *
+   * @param limit requested page size, or null for the default
+   * @return returns the pageable to be passed to the repository
+   */
+  public static Pageable orderedById(Integer limit) {
+    int pageSize = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+    return PageRequest.of(0, pageSize, Sort.by("id").ascending());
+  }
+
+  /**
+   * Builds the OK response of a page, adding the next cursor header when the
+   *        page is full and there may be more rows.
+   *
+   * @param page rows of the current page
+   * @param pageable pageable used in the search
+   * @param idOf function that extracts the id of a row
+   * @param <T> type of the rows
+   * @return returns the response with the page as body
+   */
+  public static <T> ResponseEntity<List<T>> response(List<T> page, Pageable pageable,
+      Function<T, Long> idOf) {
+    ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+
+    if (!page.isEmpty() && page.size() == pageable.getPageSize()) {
+      Long lastId = idOf.apply(page.get(page.size() - 1));
+      builder.header(NEXT_CURSOR_HEADER, String.valueOf(lastId));
+    }
+
+    return builder.body(page);
+  }
+
+  /**
+   * Streams all the rows, one keyset page at a time. A page is only queried
+   *        when the subscriber asks for more rows, on the bounded elastic
+   *        scheduler, so at most two pages are held in memory and no thread
+   *        waits for a slow client between pages.
+   *
+   * @param pageLoader function that searches the page after a given id
+   * @param pageable size and order of each page
+   * @param idOf function that extracts the id of a row
+   * @param <T> type of the rows
+   * @return returns a flux of all the rows ordered by id
+   */
+  public static <T> Flux<T> stream(BiFunction<Long, Pageable, List<T>> pageLoader,
+      Pageable pageable, Function<T, Long> idOf) {
+    return Flux.<List<T>, Long>generate(() -> 0L, (after, sink) -> {
+      List<T> page = pageLoader.apply(after, pageable);
+
+      if (!page.isEmpty()) {
+        sink.next(page);
+      }
+      if (page.size() < pageable.getPageSize()) {
+        sink.complete();
+        return after;
+      }
+      return idOf.apply(page.get(page.size() - 1));
+    })
+        .subscribeOn(Schedulers.boundedElastic())
+        .concatMapIterable(page -> page, 1);
+  }
+}
@@ -0,0 +1,47 @@
+package com.betrybe.agrix.util;
+
+import com.betrybe.agrix.ebytr.staff.security.Role;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Tags shared by the latency metrics. Each tag has a fixed set of values, so
+ * the number of time series does not grow with users or ids.
+ */
+public final class MetricTags {
+
+  public static final String ROLE = "role";
+
+  public static final String OUTCOME = "outcome";
+
+  public static final String ANONYMOUS = "ANONYMOUS";
+
+  /**
+   * Request attribute with the role, read when the request observation stops.
+   */
+  public static final String ROLE_ATTRIBUTE = MetricTags.class.getName() + ".role";
+
+  private MetricTags() {}
+
+  /**
+   * Returns the role of the authenticated person of the current thread.
+   *
+   * @return returns ADMIN, MANAGER, USER or ANONYMOUS
+   */
+  public static String currentRole() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null || !authentication.isAuthenticated()) {
+      return ANONYMOUS;
+    }
+
+    for (GrantedAuthority authority : authentication.getAuthorities()) {
+      for (Role role : Role.values()) {
+        if (role.getName().equals(authority.getAuthority())) {
+          return role.name();
+        }
+      }
+    }
+    return ANONYMOUS;
+  }
+}
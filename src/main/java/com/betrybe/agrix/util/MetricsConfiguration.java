@@ -0,0 +1,16 @@
+package com.betrybe.agrix.util;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the role tag of the per route latency metrics.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+  @Bean
+  public RoleObservationConvention roleObservationConvention() {
+    return new RoleObservationConvention();
+  }
+}
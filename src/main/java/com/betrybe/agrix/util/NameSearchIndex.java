@@ -0,0 +1,195 @@
+package com.betrybe.agrix.util;
+
+import com.betrybe.agrix.model.projections.CropRow;
+import com.betrybe.agrix.model.projections.FertilizerRow;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory trigram index of the crop names and of the fertilizer names and
+ *        brands, so that the name searches are answered without querying the
+ *        database. It is loaded by the InMemoryIndexLoader once the
+ *        application is ready and then kept current by the entity listeners
+ *        after each committed write. Until it is loaded, or when
+ *        api.search.name-index.enabled is false, isReady returns false and
+ *        the searches must go to the database.
+ */
+@Component
+public class NameSearchIndex {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(NameSearchIndex.class);
+
+  private final boolean enabled;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final TrigramIndex<CropRow> crops = new TrigramIndex<>();
+
+  private final TrigramIndex<FertilizerRow> fertilizers = new TrigramIndex<>();
+
+  private final Tombstones removedCrops = new Tombstones();
+
+  private final Tombstones removedFertilizers = new Tombstones();
+
+  private volatile boolean ready;
+
+  /**
+   * Constructor of the name search index.
+   *
+   * @param enabled whether the index is loaded and used by the searches
+   */
+  @Autowired
+  public NameSearchIndex(@Value("${api.search.name-index.enabled:true}") boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public boolean isEnabled() {
+    return this.enabled;
+  }
+
+  public boolean isReady() {
+    return this.ready;
+  }
+
+  /**
+   * Starts recording the removed crops and fertilizers, before the ones to
+   *        be loaded are read from the database.
+   */
+  public void beginLoad() {
+    write(() -> {
+      this.removedCrops.start();
+      this.removedFertilizers.start();
+    });
+  }
+
+  /**
+   * Loads the crops and fertilizers read from the database. The ones written
+   *        while they were read reach the index through the put methods
+   *        first, so the loaded rows never replace them, and the ones removed
+   *        meanwhile are skipped.
+   *
+   * @param allCrops all the crops, read after beginLoad
+   * @param allFertilizers all the fertilizers, read after beginLoad
+   */
+  public void load(List<CropRow> allCrops, List<FertilizerRow> allFertilizers) {
+    if (!this.enabled) {
+      return;
+    }
+
+    this.lock.writeLock().lock();
+    try {
+      for (CropRow crop : allCrops) {
+        if (!this.crops.contains(crop.id()) && !this.removedCrops.contains(crop.id())) {
+          this.crops.put(crop.id(), crop, crop.name());
+        }
+      }
+      for (FertilizerRow fertilizer : allFertilizers) {
+        if (!this.fertilizers.contains(fertilizer.id())
+            && !this.removedFertilizers.contains(fertilizer.id())) {
+          this.fertilizers.put(fertilizer.id(), fertilizer, fertilizer.name(), fertilizer.brand());
+        }
+      }
+      this.removedCrops.stop();
+      this.removedFertilizers.stop();
+      this.ready = true;
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+    LOGGER.info("Índice de nomes carregado com {} plantações e {} fertilizantes",
+        allCrops.size(), allFertilizers.size());
+  }
+
+  /**
+   * Adds a crop, or replaces the previous version of it.
+   *
+   * @param crop crop that was saved
+   */
+  public void putCrop(CropRow crop) {
+    write(() -> this.crops.put(crop.id(), crop, crop.name()));
+  }
+
+  /**
+   * Removes a crop.
+   *
+   * @param id id of the crop that was removed
+   */
+  public void removeCrop(Long id) {
+    write(() -> {
+      this.crops.remove(id);
+      this.removedCrops.record(id);
+    });
+  }
+
+  /**
+   * Adds a fertilizer, or replaces the previous version of it.
+   *
+   * @param fertilizer fertilizer that was saved
+   */
+  public void putFertilizer(FertilizerRow fertilizer) {
+    write(() -> this.fertilizers.put(fertilizer.id(), fertilizer, fertilizer.name(),
+        fertilizer.brand()));
+  }
+
+  /**
+   * Removes a fertilizer.
+   *
+   * @param id id of the fertilizer that was removed
+   */
+  public void removeFertilizer(Long id) {
+    write(() -> {
+      this.fertilizers.remove(id);
+      this.removedFertilizers.record(id);
+    });
+  }
+
+  /**
+   * Searches the crops by name.
+   *
+   * @param query whole or partial name, possibly misspelled
+   * @param limit maximum number of crops
+   * @return returns the best matching crops, the best first
+   */
+  public List<CropRow> searchCrops(String query, int limit) {
+    this.lock.readLock().lock();
+    try {
+      return this.crops.search(query, limit);
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Searches the fertilizers by name or brand, the name matches first.
+   *
+   * @param query whole or partial name or brand, possibly misspelled
+   * @param limit maximum number of fertilizers
+   * @return returns the best matching fertilizers, the best first
+   */
+  public List<FertilizerRow> searchFertilizers(String query, int limit) {
+    this.lock.readLock().lock();
+    try {
+      return this.fertilizers.search(query, limit);
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  private void write(Runnable change) {
+    if (!this.enabled) {
+      return;
+    }
+
+    this.lock.writeLock().lock();
+    try {
+      change.run();
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+}
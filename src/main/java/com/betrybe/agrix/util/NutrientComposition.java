@@ -0,0 +1,141 @@
+package com.betrybe.agrix.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Nitrogen, phosphorus (P2O5) and potassium (K2O) percentages read from the
+ *        free text composition of a fertilizer. Two notations are understood:
+ *        the N-P-K grade, as in "NPK 10-10-10" or "04-14-08", and labeled
+ *        nutrients, as in "46% N" or "Nitrogênio: 21%, Enxofre: 24%". With the
+ *        labeled notation the nutrients not mentioned are 0.
+ *
+ * @param nitrogen percentage of nitrogen
+ * @param phosphorus percentage of phosphorus, as P2O5
+ * @param potassium percentage of potassium, as K2O
+ */
+public record NutrientComposition(double nitrogen, double phosphorus, double potassium) {
+
+  private static final String NUMBER = "(\\d{1,3}(?:[.,]\\d+)?)";
+
+  private static final Pattern GRADE = Pattern.compile(
+      "(?<![\\d.,])" + NUMBER + "\\s*-\\s*" + NUMBER + "\\s*-\\s*" + NUMBER + "(?![\\d.,]|\\s*-)");
+
+  private static final Pattern TOKEN = Pattern.compile(NUMBER + "\\s*%"
+      + "|\\b(nitrogenio|n)\\b|\\b(p2o5|fosforo|p)\\b|\\b(k2o|potassio|k)\\b");
+
+  private static final Pattern BEFORE_GAP = Pattern.compile("\\s*(?:de\\s+)?");
+
+  private static final Pattern AFTER_GAP = Pattern.compile("\\s*[:=]?\\s*");
+
+  /**
+   * Parses a composition.
+   *
+   * @param composition free text composition of the fertilizer
+   * @return returns the nutrients, or empty when no N-P-K grade nor labeled
+   *        nutrient is found
+   */
+  public static Optional<NutrientComposition> parse(String composition) {
+    if (composition == null || composition.isBlank()) {
+      return Optional.empty();
+    }
+
+    String text = Normalizer.normalize(composition, Normalizer.Form.NFD)
+        .replaceAll("\\p{M}", "")
+        .toLowerCase(Locale.ROOT);
+
+    Matcher grade = GRADE.matcher(text);
+    if (grade.find()) {
+      return valid(number(grade.group(1)), number(grade.group(2)), number(grade.group(3)));
+    }
+
+    Double[] nutrients = labeled(text);
+    if (nutrients[0] == null && nutrients[1] == null && nutrients[2] == null) {
+      return Optional.empty();
+    }
+
+    return valid(nutrients[0] == null ? 0.0 : nutrients[0],
+        nutrients[1] == null ? 0.0 : nutrients[1], nutrients[2] == null ? 0.0 : nutrients[2]);
+  }
+
+  /**
+   * Reads the labels and percentages from left to right, binding each label
+   *        to the percentage written right before it, as in "46% N" or "10%
+   *        de potássio", or else right after it, as in "N: 10%". A percentage
+   *        bound to a label is never bound again, so "N 10% P 20%" reads as
+   *        N=10 and P=20. The first percentage of each nutrient wins.
+   */
+  private static Double[] labeled(String text) {
+    List<Token> tokens = new ArrayList<>();
+    Matcher matcher = TOKEN.matcher(text);
+    while (matcher.find()) {
+      int nutrient = -1;
+      for (int group = 2; group <= 4; group++) {
+        if (matcher.group(group) != null) {
+          nutrient = group - 2;
+        }
+      }
+      Double value = nutrient < 0 ? number(matcher.group(1)) : null;
+      tokens.add(new Token(nutrient, value, matcher.start(), matcher.end()));
+    }
+
+    Double[] nutrients = new Double[3];
+    boolean[] bound = new boolean[tokens.size()];
+    for (int i = 0; i < tokens.size(); i++) {
+      Token label = tokens.get(i);
+      if (label.nutrient() < 0) {
+        continue;
+      }
+
+      int value = -1;
+      if (i > 0 && !bound[i - 1] && isValue(tokens.get(i - 1))
+          && gap(text, tokens.get(i - 1), label, BEFORE_GAP)) {
+        value = i - 1;
+      } else if (i + 1 < tokens.size() && isValue(tokens.get(i + 1))
+          && gap(text, label, tokens.get(i + 1), AFTER_GAP)) {
+        value = i + 1;
+      }
+
+      if (value >= 0) {
+        bound[value] = true;
+        if (nutrients[label.nutrient()] == null) {
+          nutrients[label.nutrient()] = tokens.get(value).value();
+        }
+      }
+    }
+    return nutrients;
+  }
+
+  private static boolean isValue(Token token) {
+    return token.nutrient() < 0;
+  }
+
+  private static boolean gap(String text, Token first, Token second, Pattern allowed) {
+    return allowed.matcher(text.substring(first.end(), second.start())).matches();
+  }
+
+  private static Optional<NutrientComposition> valid(double nitrogen, double phosphorus,
+      double potassium) {
+    if (nitrogen > 100 || phosphorus > 100 || potassium > 100
+        || nitrogen + phosphorus + potassium > 100) {
+      return Optional.empty();
+    }
+
+    return Optional.of(new NutrientComposition(nitrogen, phosphorus, potassium));
+  }
+
+  private static double number(String value) {
+    return Double.parseDouble(value.replace(',', '.'));
+  }
+
+  /**
+   * Label of a nutrient, 0 to 2 for N, P and K, or a percentage, with -1.
+   */
+  private record Token(int nutrient, Double value, int start, int end) {
+  }
+}
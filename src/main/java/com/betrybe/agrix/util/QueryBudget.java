@@ -0,0 +1,22 @@
+package com.betrybe.agrix.util;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the maximum number of SQL statements a route may execute, not
+ * counting the authentication done by the security filter.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+  /**
+   * Maximum number of statements of the route.
+   *
+   * @return returns the budget
+   */
+  int value();
+}
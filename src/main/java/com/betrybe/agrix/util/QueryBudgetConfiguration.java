@@ -0,0 +1,44 @@
+package com.betrybe.agrix.util;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Enables the per route query budgets when api.query-budget.mode is LOG or FAIL.
+ */
+@Configuration
+public class QueryBudgetConfiguration implements WebMvcConfigurer {
+
+  private final QueryBudgetMode mode;
+
+  public QueryBudgetConfiguration(@Value("${api.query-budget.mode:OFF}") QueryBudgetMode mode) {
+    this.mode = mode;
+  }
+
+  /**
+   * Registers the statement counter in Hibernate, unless another inspector
+   * was already configured.
+   *
+   * @return returns the customizer of the Hibernate properties
+   */
+  @Bean
+  public HibernatePropertiesCustomizer queryCountInspectorCustomizer() {
+    return properties -> {
+      if (this.mode != QueryBudgetMode.OFF) {
+        properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+      }
+    };
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    if (this.mode != QueryBudgetMode.OFF) {
+      registry.addInterceptor(new QueryBudgetInterceptor(this.mode));
+    }
+  }
+}
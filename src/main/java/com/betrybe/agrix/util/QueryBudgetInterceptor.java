@@ -0,0 +1,54 @@
+package com.betrybe.agrix.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Counts the SQL statements of each route annotated with QueryBudget and logs
+ * or fails the routes that go over it.
+ */
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+
+  private final QueryBudgetMode mode;
+
+  public QueryBudgetInterceptor(QueryBudgetMode mode) {
+    this.mode = mode;
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+      Object handler) {
+    if (handler instanceof HandlerMethod handlerMethod) {
+      QueryBudget budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+
+      if (budget != null) {
+        String route = request.getMethod() + " " + request.getRequestURI();
+        QueryCountInspector.start(route, budget.value(), this.mode == QueryBudgetMode.FAIL);
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+      Object handler, Exception exception) {
+    QueryCountInspector.RouteQueries queries = QueryCountInspector.stop();
+
+    if (queries != null && queries.getCount() > queries.getBudget()) {
+      LOGGER.warn("A rota {} executou {} consultas, acima do limite de {}",
+          queries.getRoute(), queries.getCount(), queries.getBudget());
+    }
+  }
+
+  @Override
+  public void afterConcurrentHandlingStarted(HttpServletRequest request,
+      HttpServletResponse response, Object handler) {
+    QueryCountInspector.stop();
+  }
+}
@@ -0,0 +1,10 @@
+package com.betrybe.agrix.util;
+
+/**
+ * What to do when a route executes more statements than its QueryBudget.
+ */
+public enum QueryBudgetMode {
+  OFF,
+  LOG,
+  FAIL
+}
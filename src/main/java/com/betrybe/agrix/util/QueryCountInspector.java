@@ -0,0 +1,78 @@
+package com.betrybe.agrix.util;
+
+import com.betrybe.agrix.exceptions.QueryBudgetExceededException;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that counts the statements executed by the
+ * route being handled in the current thread.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+  private static final ThreadLocal<RouteQueries> CURRENT = new ThreadLocal<>();
+
+  /**
+   * Starts counting the statements of a route in the current thread.
+   *
+   * @param route route being handled
+   * @param budget maximum number of statements of the route
+   * @param failWhenExceeded if true, the statement over the budget throws an exception
+   */
+  public static void start(String route, int budget, boolean failWhenExceeded) {
+    CURRENT.set(new RouteQueries(route, budget, failWhenExceeded));
+  }
+
+  /**
+   * Stops counting in the current thread.
+   *
+   * @return returns the statements counted, or null if nothing was being counted
+   */
+  public static RouteQueries stop() {
+    RouteQueries queries = CURRENT.get();
+    CURRENT.remove();
+    return queries;
+  }
+
+  @Override
+  public String inspect(String sql) {
+    RouteQueries queries = CURRENT.get();
+
+    if (queries != null) {
+      queries.count++;
+      if (queries.failWhenExceeded && queries.count > queries.budget) {
+        throw new QueryBudgetExceededException(queries.route, queries.budget, sql);
+      }
+    }
+
+    return sql;
+  }
+
+  /**
+   * Statements counted for a route.
+   */
+  public static class RouteQueries {
+
+    private final String route;
+    private final int budget;
+    private final boolean failWhenExceeded;
+    private int count;
+
+    private RouteQueries(String route, int budget, boolean failWhenExceeded) {
+      this.route = route;
+      this.budget = budget;
+      this.failWhenExceeded = failWhenExceeded;
+    }
+
+    public String getRoute() {
+      return route;
+    }
+
+    public int getBudget() {
+      return budget;
+    }
+
+    public int getCount() {
+      return count;
+    }
+  }
+}
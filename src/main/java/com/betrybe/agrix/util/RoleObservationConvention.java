@@ -0,0 +1,23 @@
+package com.betrybe.agrix.util;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+/**
+ * Adds the role of the authenticated person to the http.server.requests
+ * metrics of every request, including the ones the security filter chain
+ * rejects. The security context is already cleared when the observation of
+ * the request stops, so the role is read from the request attribute set by
+ * the RoleTagFilter, and is ANONYMOUS when the request did not get there.
+ */
+public class RoleObservationConvention extends DefaultServerRequestObservationConvention {
+
+  @Override
+  public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+    Object role = context.getCarrier().getAttribute(MetricTags.ROLE_ATTRIBUTE);
+    return super.getLowCardinalityKeyValues(context).and(KeyValue.of(MetricTags.ROLE,
+        role instanceof String name ? name : MetricTags.ANONYMOUS));
+  }
+}
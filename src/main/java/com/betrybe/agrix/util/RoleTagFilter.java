@@ -0,0 +1,24 @@
+package com.betrybe.agrix.util;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Records the role of the authenticated person in the request for the
+ * RoleObservationConvention. It runs in the security filter chain once the
+ * person is authenticated and before the access is decided, so the requests
+ * rejected with 403 are tagged with the role too.
+ */
+public class RoleTagFilter extends OncePerRequestFilter {
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    request.setAttribute(MetricTags.ROLE_ATTRIBUTE, MetricTags.currentRole());
+    filterChain.doFilter(request, response);
+  }
+}
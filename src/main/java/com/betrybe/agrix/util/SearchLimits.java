@@ -0,0 +1,23 @@
+package com.betrybe.agrix.util;
+
+/**
+ * Limits of the number of rows returned by the crop and fertilizer searches.
+ */
+public final class SearchLimits {
+
+  public static final int MAX_LIMIT = 1000;
+
+  public static final int DEFAULT_NAME_LIMIT = 10;
+
+  private SearchLimits() {}
+
+  /**
+   * Keeps the requested number of rows between 1 and MAX_LIMIT.
+   *
+   * @param limit number of rows requested
+   * @return returns the number of rows to be searched
+   */
+  public static int clamp(int limit) {
+    return Math.max(1, Math.min(limit, MAX_LIMIT));
+  }
+}
@@ -17,6 +17,7 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 /**
@@ -49,9 +50,12 @@ public class SecurityConfiguration {
         .authorizeHttpRequests(authorize ->
             authorize.requestMatchers(HttpMethod.POST, "/persons").permitAll()
                 .requestMatchers(HttpMethod.POST, "/auth/login").permitAll()
+                .requestMatchers(HttpMethod.GET, "/actuator/health/**").permitAll()
+                .requestMatchers("/actuator/slowqueries/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
         )
         .addFilterBefore(this.securityFilter, UsernamePasswordAuthenticationFilter.class)
+        .addFilterBefore(new RoleTagFilter(), AuthorizationFilter.class)
         .build();
   }
 
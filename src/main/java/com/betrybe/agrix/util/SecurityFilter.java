@@ -1,5 +1,6 @@
 package com.betrybe.agrix.util;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.betrybe.agrix.ebytr.staff.entity.Person;
 import com.betrybe.agrix.ebytr.staff.service.PersonService;
 import com.betrybe.agrix.ebytr.staff.service.TokenService;
@@ -10,6 +11,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -23,17 +25,22 @@ public class SecurityFilter extends OncePerRequestFilter {
 
   private TokenService tokenService;
   private PersonService personService;
+  private boolean stateless;
 
   /**
    * Initializes the security filters for using the token.
    *
    * @param tokenService receives an instance of the token service layer
    * @param personService receives an instance of the person service layer
+   * @param stateless if true, the person is built from the token claims
+   *        instead of being loaded from the database
    */
   @Autowired
-  public SecurityFilter(TokenService tokenService, PersonService personService) {
+  public SecurityFilter(TokenService tokenService, PersonService personService,
+      @Value("${api.security.stateless:false}") boolean stateless) {
     this.tokenService = tokenService;
     this.personService = personService;
+    this.stateless = stateless;
   }
 
   /**
@@ -52,9 +59,14 @@ public class SecurityFilter extends OncePerRequestFilter {
     String token = recoveryToken(request);
 
     if (token != null) {
-      String username = this.tokenService.validateToken(token);
+      DecodedJWT decodedToken = this.tokenService.verifyToken(token);
 
-      Person personFound = this.personService.getPersonByUsername(username);
+      Optional<Person> personFromClaims = this.stateless
+          ? this.tokenService.toPerson(decodedToken)
+          : Optional.empty();
+
+      Person personFound = personFromClaims.orElseGet(() ->
+          this.personService.getPrincipalByUsername(decodedToken.getSubject()));
 
       UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
           new UsernamePasswordAuthenticationToken(personFound, null, personFound.getAuthorities());
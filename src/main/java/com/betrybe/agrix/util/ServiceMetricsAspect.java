@@ -0,0 +1,77 @@
+package com.betrybe.agrix.util;
+
+import com.betrybe.agrix.ebytr.staff.exception.IncorrectPasswordException;
+import com.betrybe.agrix.ebytr.staff.exception.PersonNotFoundException;
+import com.betrybe.agrix.exceptions.CropNotFoundException;
+import com.betrybe.agrix.exceptions.FarmNotFoundException;
+import com.betrybe.agrix.exceptions.FertilizerNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Set;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public method of the services, the staff ones included, as the
+ * agrix.service metric, tagged by class, method, outcome and role. The
+ * outcome is SUCCESS, CLIENT_ERROR for the not found and incorrect password
+ * exceptions, which the controllers answer with a 4xx status, or
+ * SERVER_ERROR for anything else.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+  public static final String METRIC = "agrix.service";
+
+  private static final Set<Class<? extends Throwable>> CLIENT_ERRORS = Set.of(
+      CropNotFoundException.class,
+      FarmNotFoundException.class,
+      FertilizerNotFoundException.class,
+      PersonNotFoundException.class,
+      UsernameNotFoundException.class,
+      IncorrectPasswordException.class);
+
+  private final MeterRegistry meterRegistry;
+
+  @Autowired
+  public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Times a service method.
+   *
+   * @param joinPoint service method being called
+   * @return returns what the method returned
+   * @throws Throwable rethrows what the method threw
+   */
+  @Around("execution(public * com.betrybe.agrix.service..*(..))"
+      + " || execution(public * com.betrybe.agrix.ebytr.staff.service..*(..))")
+  public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+    Timer.Sample sample = Timer.start(this.meterRegistry);
+    String outcome = "SUCCESS";
+
+    try {
+      return joinPoint.proceed();
+    } catch (Throwable throwable) {
+      outcome = isClientError(throwable) ? "CLIENT_ERROR" : "SERVER_ERROR";
+      throw throwable;
+    } finally {
+      sample.stop(Timer.builder(METRIC)
+          .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+          .tag("method", joinPoint.getSignature().getName())
+          .tag(MetricTags.OUTCOME, outcome)
+          .tag(MetricTags.ROLE, MetricTags.currentRole())
+          .register(this.meterRegistry));
+    }
+  }
+
+  private static boolean isClientError(Throwable throwable) {
+    return CLIENT_ERRORS.stream().anyMatch(type -> type.isInstance(throwable));
+  }
+}
@@ -0,0 +1,46 @@
+package com.betrybe.agrix.util;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint /actuator/slowqueries with the slowest normalized SQL
+ * statements since the start of the application or the last reset.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueriesEndpoint {
+
+  private final SqlStatementMonitor monitor;
+
+  private final int defaultLimit;
+
+  /**
+   * Constructor of the slow queries endpoint.
+   *
+   * @param monitor monitor of the SQL statements
+   * @param defaultLimit number of statements returned when no limit is sent
+   */
+  @Autowired
+  public SlowQueriesEndpoint(SqlStatementMonitor monitor,
+      @Value("${api.sql.top-n:20}") int defaultLimit) {
+    this.monitor = monitor;
+    this.defaultLimit = defaultLimit;
+  }
+
+  @ReadOperation
+  public List<SqlStatementMonitor.SlowStatement> slowest(@Nullable Integer limit) {
+    return this.monitor.slowest(limit == null ? this.defaultLimit : limit);
+  }
+
+  @DeleteOperation
+  public void reset() {
+    this.monitor.reset();
+  }
+}
@@ -0,0 +1,116 @@
+package com.betrybe.agrix.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.NanoTimeStopwatchFactory;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Wraps the data source so that every statement is timed and recorded in the
+ * SqlStatementMonitor, tagged with the route that executed it. Replaces the
+ * spring.jpa.show-sql logging, which wrote every statement to stdout in the
+ * request thread and had no timing.
+ */
+@Configuration
+public class SqlInstrumentationConfiguration {
+
+  static final String NO_ENDPOINT = "NONE";
+
+  /**
+   * Creates the monitor of the SQL statements.
+   *
+   * @param slowThresholdMillis statements at least this slow are always logged
+   * @param logSampleRate fraction of the faster statements also logged
+   * @return returns the monitor
+   */
+  @Bean
+  public static SqlStatementMonitor sqlStatementMonitor(
+      @Value("${api.sql.slow-threshold-ms:200}") long slowThresholdMillis,
+      @Value("${api.sql.log-sample-rate:0}") double logSampleRate) {
+    return new SqlStatementMonitor(slowThresholdMillis, logSampleRate);
+  }
+
+  /**
+   * Wraps the data source once it is initialized.
+   *
+   * @param monitor monitor that receives the timings
+   * @return returns the post processor that wraps the data source
+   */
+  @Bean
+  public static BeanPostProcessor sqlInstrumentationPostProcessor(
+      ObjectProvider<SqlStatementMonitor> monitor) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+          ProxyDataSource proxy = ProxyDataSourceBuilder.create(dataSource)
+              .name(beanName)
+              .listener(new MonitorListener(monitor.getObject()))
+              .build();
+          // The builder has no stopwatch option, and the default stopwatch
+          // truncates each execution to whole milliseconds
+          proxy.setProxyConfig(ProxyConfig.Builder.from(proxy.getProxyConfig())
+              .stopwatchFactory(new NanoTimeStopwatchFactory())
+              .build());
+          return proxy;
+        }
+        return bean;
+      }
+    };
+  }
+
+  /**
+   * Returns the route being handled by the current thread, such as
+   * GET /farms/{farmId}, or NONE outside of a mapped request.
+   *
+   * @return returns the route
+   */
+  static String currentEndpoint() {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+      return NO_ENDPOINT;
+    }
+
+    HttpServletRequest request = servletAttributes.getRequest();
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return pattern == null ? NO_ENDPOINT : request.getMethod() + " " + pattern;
+  }
+
+  private static class MonitorListener implements QueryExecutionListener {
+
+    private final SqlStatementMonitor monitor;
+
+    MonitorListener(SqlStatementMonitor monitor) {
+      this.monitor = monitor;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queries) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queries) {
+      String endpoint = currentEndpoint();
+      long elapsedNanos = executionInfo.getElapsedTime();
+
+      for (QueryInfo query : queries) {
+        this.monitor.record(query.getQuery(), endpoint, elapsedNanos);
+      }
+    }
+  }
+}
@@ -0,0 +1,212 @@
+package com.betrybe.agrix.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Keeps the latency of the SQL statements grouped by normalized statement,
+ * publishes it as the agrix.sql timer tagged by endpoint and operation, and
+ * logs the statements over the threshold, plus a sample of the others, from
+ * a background thread so the request never waits for the log.
+ */
+public class SqlStatementMonitor implements MeterBinder, DisposableBean {
+
+  public static final String METRIC = "agrix.sql";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger("com.betrybe.agrix.sql");
+
+  private static final int MAX_STATEMENTS = 1000;
+
+  private static final int MAX_ENDPOINTS_PER_STATEMENT = 10;
+
+  private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+  private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+
+  private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+
+  private final ThreadPoolExecutor logExecutor;
+
+  private final long slowThresholdNanos;
+
+  private final double logSampleRate;
+
+  private volatile MeterRegistry meterRegistry;
+
+  /**
+   * Constructor of the SQL statement monitor.
+   *
+   * @param slowThresholdMillis statements at least this slow are always logged
+   * @param logSampleRate fraction, from 0 to 1, of the faster statements also logged
+   */
+  public SqlStatementMonitor(long slowThresholdMillis, double logSampleRate) {
+    this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+    this.logSampleRate = logSampleRate;
+    this.logExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(1000), runnable -> {
+          Thread thread = new Thread(runnable, "sql-log");
+          thread.setDaemon(true);
+          return thread;
+        }, new ThreadPoolExecutor.DiscardOldestPolicy());
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    this.meterRegistry = registry;
+  }
+
+  /**
+   * Records one execution of a statement.
+   *
+   * @param sql statement as sent to the database
+   * @param endpoint route that executed the statement
+   * @param elapsedNanos time the database took to execute it
+   */
+  public void record(String sql, String endpoint, long elapsedNanos) {
+    String normalized = normalize(sql);
+
+    StatementStats stats = this.statements.get(normalized);
+    if (stats == null && this.statements.size() < MAX_STATEMENTS) {
+      stats = this.statements.computeIfAbsent(normalized, StatementStats::new);
+    }
+    if (stats != null) {
+      stats.record(endpoint, elapsedNanos);
+    }
+
+    MeterRegistry registry = this.meterRegistry;
+    if (registry != null) {
+      Timer.builder(METRIC)
+          .tag("endpoint", endpoint)
+          .tag("operation", operationOf(normalized))
+          .register(registry)
+          .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    boolean slow = elapsedNanos >= this.slowThresholdNanos;
+    if (slow || (this.logSampleRate > 0
+        && ThreadLocalRandom.current().nextDouble() < this.logSampleRate)) {
+      long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+      this.logExecutor.execute(() -> {
+        if (slow) {
+          LOGGER.warn("{} ms em {}: {}", elapsedMillis, endpoint, sql);
+        } else {
+          LOGGER.info("{} ms em {}: {}", elapsedMillis, endpoint, sql);
+        }
+      });
+    }
+  }
+
+  /**
+   * Returns the slowest statements, by their slowest execution.
+   *
+   * @param limit maximum number of statements
+   * @return returns the statements, slowest first
+   */
+  public List<SlowStatement> slowest(int limit) {
+    return this.statements.values().stream()
+        .map(StatementStats::snapshot)
+        .sorted(Comparator.comparingDouble(SlowStatement::maxMillis).reversed())
+        .limit(limit)
+        .toList();
+  }
+
+  public void reset() {
+    this.statements.clear();
+  }
+
+  @Override
+  public void destroy() {
+    this.logExecutor.shutdown();
+  }
+
+  /**
+   * Replaces the literals of a statement and the lists of parameters of the
+   * IN clauses, so that executions that only differ by values are grouped.
+   *
+   * @param sql statement
+   * @return returns the normalized statement
+   */
+  static String normalize(String sql) {
+    String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+    normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+    normalized = IN_LIST.matcher(normalized).replaceAll("(?...)");
+    return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+  }
+
+  private static String operationOf(String normalized) {
+    int end = normalized.indexOf(' ');
+    String keyword = (end < 0 ? normalized : normalized.substring(0, end)).toLowerCase(Locale.ROOT);
+    return switch (keyword) {
+      case "select", "insert", "update", "delete" -> keyword;
+      default -> "other";
+    };
+  }
+
+  /**
+   * Latency of a normalized statement.
+   *
+   * @param sql normalized statement
+   * @param count number of executions
+   * @param meanMillis mean execution time
+   * @param maxMillis slowest execution time
+   * @param slowestEndpoint route of the slowest execution
+   * @param endpoints routes that executed the statement
+   */
+  public record SlowStatement(String sql, long count, double meanMillis, double maxMillis,
+                              String slowestEndpoint, Set<String> endpoints) {
+  }
+
+  private static class StatementStats {
+
+    private final String sql;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final Set<String> endpoints = ConcurrentHashMap.newKeySet();
+    private volatile String slowestEndpoint;
+
+    StatementStats(String sql) {
+      this.sql = sql;
+    }
+
+    void record(String endpoint, long elapsedNanos) {
+      this.count.increment();
+      this.totalNanos.add(elapsedNanos);
+      if (this.slowestEndpoint == null || elapsedNanos > this.maxNanos.get()) {
+        this.slowestEndpoint = endpoint;
+      }
+      this.maxNanos.accumulate(elapsedNanos);
+      if (this.endpoints.size() < MAX_ENDPOINTS_PER_STATEMENT) {
+        this.endpoints.add(endpoint);
+      }
+    }
+
+    SlowStatement snapshot() {
+      long executions = this.count.sum();
+      double mean = executions == 0 ? 0 : this.totalNanos.sum() / (double) executions / 1e6;
+      return new SlowStatement(this.sql, executions, mean, this.maxNanos.get() / 1e6,
+          this.slowestEndpoint, Set.copyOf(this.endpoints));
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package com.betrybe.agrix.util;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Ids removed from an in-memory index while its load is running. The load
+ *        reads the rows before taking the write lock, so a row removed in
+ *        between is still in what it read and must be skipped. Not thread
+ *        safe: used under the write lock of the index.
+ */
+final class Tombstones {
+
+  private final Set<Long> ids = new HashSet<>();
+
+  private boolean recording;
+
+  /**
+   * Starts recording the removals, before the load reads the rows.
+   */
+  void start() {
+    this.ids.clear();
+    this.recording = true;
+  }
+
+  /**
+   * Records a removal, if a load is running.
+   *
+   * @param id id of the removed row
+   */
+  void record(Long id) {
+    if (this.recording) {
+      this.ids.add(id);
+    }
+  }
+
+  boolean contains(Long id) {
+    return this.ids.contains(id);
+  }
+
+  /**
+   * Stops recording once the loaded rows are in the index.
+   */
+  void stop() {
+    this.ids.clear();
+    this.recording = false;
+  }
+}
@@ -0,0 +1,33 @@
+package com.betrybe.agrix.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Helpers for the entity listeners that keep in-memory state in step with
+ *        the committed writes.
+ */
+public final class TransactionCallbacks {
+
+  private TransactionCallbacks() {}
+
+  /**
+   * Runs the action once the current transaction commits, or right away
+   *        when there is no transaction.
+   *
+   * @param action change of the in-memory state
+   */
+  public static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+}
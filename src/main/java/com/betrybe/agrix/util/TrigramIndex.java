@@ -0,0 +1,196 @@
+package com.betrybe.agrix.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Index of short texts by their character trigrams, used for prefix and typo
+ *        tolerant name searches. The texts are compared without accents and
+ *        case, word by word, so "milh" finds "Milho" and "ureia" finds
+ *        "Uréia". Not thread safe: callers synchronize the access.
+ *
+ * @param <T> type of the values returned by the searches
+ */
+public class TrigramIndex<T> {
+
+  /**
+   * Share of the trigrams of the query that a text needs to have, when its
+   *        words do not start with the words of the query.
+   */
+  public static final double MIN_SIMILARITY = 0.5;
+
+  private final Map<String, Set<Long>> postings = new HashMap<>();
+
+  private final Map<Long, Entry<T>> entries = new HashMap<>();
+
+  /**
+   * Adds a value searchable by the given texts, replacing the previous value
+   *        with the same id. The first text is the main one: matches on it
+   *        rank higher and shorter ones come first on ties.
+   *
+   * @param id unique id of the value
+   * @param value value returned by the searches
+   * @param texts texts the value is found by
+   */
+  public void put(long id, T value, String... texts) {
+    remove(id);
+
+    List<List<String>> words = new ArrayList<>(texts.length);
+    Set<String> grams = new HashSet<>();
+    for (String text : texts) {
+      List<String> textWords = words(text);
+      words.add(textWords);
+      for (String word : textWords) {
+        grams.addAll(grams(word, true));
+      }
+    }
+
+    String main = texts.length == 0 || texts[0] == null ? "" : texts[0];
+    this.entries.put(id, new Entry<>(id, value, words, grams, main.length()));
+    for (String gram : grams) {
+      this.postings.computeIfAbsent(gram, key -> new HashSet<>()).add(id);
+    }
+  }
+
+  /**
+   * Removes a value.
+   *
+   * @param id id of the value
+   */
+  public void remove(long id) {
+    Entry<T> previous = this.entries.remove(id);
+    if (previous == null) {
+      return;
+    }
+
+    for (String gram : previous.grams()) {
+      Set<Long> ids = this.postings.get(gram);
+      ids.remove(id);
+      if (ids.isEmpty()) {
+        this.postings.remove(gram);
+      }
+    }
+  }
+
+  public boolean contains(long id) {
+    return this.entries.containsKey(id);
+  }
+
+  public int size() {
+    return this.entries.size();
+  }
+
+  /**
+   * Searches the values whose words start with the words of the query, or
+   *        share at least MIN_SIMILARITY of its trigrams. Matches on the main
+   *        text rank first, then prefix matches, then the closest texts.
+   *
+   * @param query text typed by the user
+   * @param limit maximum number of values
+   * @return returns the best values, the best first
+   */
+  public List<T> search(String query, int limit) {
+    List<String> tokens = words(query);
+    if (tokens.isEmpty() || limit <= 0) {
+      return List.of();
+    }
+
+    // The last token may be incomplete, so it is not padded at its end
+    Set<String> queryGrams = new LinkedHashSet<>();
+    for (int i = 0; i < tokens.size(); i++) {
+      queryGrams.addAll(grams(tokens.get(i), i < tokens.size() - 1));
+    }
+
+    Map<Long, Integer> shared = new HashMap<>();
+    for (String gram : queryGrams) {
+      for (Long id : this.postings.getOrDefault(gram, Set.of())) {
+        shared.merge(id, 1, Integer::sum);
+      }
+    }
+
+    PriorityQueue<Match<T>> best = new PriorityQueue<>(Match.ORDER.reversed());
+    shared.forEach((id, count) -> {
+      Entry<T> entry = this.entries.get(id);
+      double similarity = (double) count / queryGrams.size();
+      double prefix = prefixScore(entry, tokens);
+      if (prefix == 0 && similarity < MIN_SIMILARITY) {
+        return;
+      }
+
+      best.add(new Match<>(entry, prefix + similarity));
+      if (best.size() > limit) {
+        best.poll();
+      }
+    });
+
+    List<Match<T>> ranked = new ArrayList<>(best);
+    ranked.sort(Match.ORDER);
+    return ranked.stream().map(match -> match.entry().value()).toList();
+  }
+
+  /**
+   * Scores whether every word of the query starts a word of one of the texts
+   *        of the value, twice as much when that text is the main one.
+   */
+  private static double prefixScore(Entry<?> entry, List<String> tokens) {
+    for (int text = 0; text < entry.words().size(); text++) {
+      List<String> words = entry.words().get(text);
+      boolean all = tokens.stream()
+          .allMatch(token -> words.stream().anyMatch(word -> word.startsWith(token)));
+      if (all) {
+        return text == 0 ? 2.0 : 1.0;
+      }
+    }
+    return 0.0;
+  }
+
+  /**
+   * Splits a text in lower case words without accents or punctuation.
+   *
+   * @param text text to be split
+   * @return returns the words of the text
+   */
+  public static List<String> words(String text) {
+    if (text == null) {
+      return List.of();
+    }
+
+    String plain = Normalizer.normalize(text, Normalizer.Form.NFD)
+        .replaceAll("\\p{M}", "")
+        .toLowerCase(Locale.ROOT)
+        .replaceAll("[^a-z0-9]+", " ")
+        .trim();
+    return plain.isEmpty() ? List.of() : Arrays.asList(plain.split(" "));
+  }
+
+  private static List<String> grams(String word, boolean complete) {
+    String padded = "  " + word + (complete ? " " : "");
+    List<String> grams = new ArrayList<>(padded.length() - 2);
+    for (int i = 0; i + 3 <= padded.length(); i++) {
+      grams.add(padded.substring(i, i + 3));
+    }
+    return grams;
+  }
+
+  private record Entry<T>(long id, T value, List<List<String>> words, Set<String> grams,
+                          int length) {
+  }
+
+  private record Match<T>(Entry<T> entry, double score) {
+
+    private static final Comparator<Match<?>> ORDER = Comparator
+        .comparingDouble((Match<?> match) -> match.score()).reversed()
+        .thenComparingInt(match -> match.entry().length())
+        .thenComparingLong(match -> match.entry().id());
+  }
+}
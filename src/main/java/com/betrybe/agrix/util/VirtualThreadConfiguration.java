@@ -0,0 +1,73 @@
+package com.betrybe.agrix.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Runs the Tomcat requests and the asynchronous responses, such as the crop
+ * export, on virtual threads when api.threads.virtual is true. Requests then
+ * wait on the database without holding a worker of a fixed pool, and the
+ * number of concurrent requests is limited by the connection pool instead.
+ * Virtual threads need Java 21: on older runtimes the platform thread pool
+ * is kept and a warning is logged.
+ */
+@Configuration
+@ConditionalOnProperty(name = "api.threads.virtual", havingValue = "true")
+public class VirtualThreadConfiguration implements WebMvcConfigurer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadConfiguration.class);
+
+  private final ExecutorService executor = newVirtualThreadPerTaskExecutor();
+
+  /**
+   * Replaces the Tomcat worker pool by the virtual thread executor.
+   *
+   * @return returns the customizer of the Tomcat protocol handler
+   */
+  @Bean
+  public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+    return protocolHandler -> {
+      if (this.executor != null) {
+        protocolHandler.setExecutor(this.executor);
+      }
+    };
+  }
+
+  @Override
+  public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+    if (this.executor != null) {
+      configurer.setTaskExecutor(new TaskExecutorAdapter(this.executor));
+    }
+  }
+
+  /**
+   * Looks up Executors.newVirtualThreadPerTaskExecutor, which only exists
+   * from Java 21 on, so the project still builds with an older target.
+   *
+   * @return returns the executor, or null if the runtime has no virtual threads
+   */
+  private static ExecutorService newVirtualThreadPerTaskExecutor() {
+    try {
+      return (ExecutorService) MethodHandles.publicLookup()
+          .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+              MethodType.methodType(ExecutorService.class))
+          .invoke();
+    } catch (NoSuchMethodException | IllegalAccessException exception) {
+      LOGGER.warn("Threads virtuais exigem Java 21, usando o pool de threads do Tomcat");
+      return null;
+    } catch (Throwable exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+}
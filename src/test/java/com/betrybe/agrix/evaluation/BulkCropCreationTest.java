@@ -0,0 +1,150 @@
+package com.betrybe.agrix.evaluation;
+
+import static com.betrybe.agrix.evaluation.util.TestHelpers.objectToJson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.evaluation.util.SqlStatementRecorder;
+import com.betrybe.agrix.model.entities.Farm;
+import com.betrybe.agrix.model.repositories.CropRepository;
+import com.betrybe.agrix.model.repositories.FarmRepository;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.betrybe.agrix.evaluation.util.SqlStatementRecorder"
+})
+@ActiveProfiles("test")
+@DisplayName("Criação de plantações em lote")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class BulkCropCreationTest {
+
+  MockMvc mockMvc;
+
+  @Autowired
+  WebApplicationContext wac;
+
+  @Autowired
+  FarmRepository farmRepository;
+
+  @Autowired
+  CropRepository cropRepository;
+
+  Farm farm;
+
+  @BeforeEach
+  public void setup() {
+    this.mockMvc = MockMvcBuilders
+        .webAppContextSetup(wac)
+        .apply(springSecurity())
+        .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+        .build();
+
+    farm = farmRepository.save(new Farm(null, "Fazenda Cooperativa", 500.0));
+  }
+
+  private static List<Map<String, Object>> validCrops(int count) {
+    List<Map<String, Object>> crops = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      Map<String, Object> crop = new HashMap<>();
+      crop.put("name", "Plantação " + i);
+      crop.put("plantedArea", 1.5);
+      crop.put("plantedDate", "2023-01-01");
+      crop.put("harvestDate", "2023-06-01");
+      crops.add(crop);
+    }
+    return crops;
+  }
+
+  @Test
+  @DisplayName("POST /farms/{farmId}/crops/bulk salva em lotes e informa as falhas")
+  void testBulkCreation() throws Exception {
+    List<Map<String, Object>> crops = validCrops(120);
+    crops.get(7).put("harvestDate", "data inválida");
+    crops.get(63).remove("name");
+    crops.get(90).put("plantedArea", "muito grande");
+
+    mockMvc.perform(post("/farms/" + farm.getId() + "/crops/bulk")
+            .with(user("admin").roles("ADMIN"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectToJson(crops)))
+        .andExpect(status().isMultiStatus())
+        .andExpect(jsonPath("$.received").value(120))
+        .andExpect(jsonPath("$.created").value(117))
+        .andExpect(jsonPath("$.failures.length()").value(3))
+        .andExpect(jsonPath("$.failures[0].index").value(7))
+        .andExpect(jsonPath("$.failures[1].index").value(63))
+        .andExpect(jsonPath("$.failures[2].index").value(90));
+
+    assertEquals(117, cropRepository.count());
+  }
+
+  @Test
+  @DisplayName("Cada lote é enviado com um único insert em batch")
+  void testBulkCreationInBatches() throws Exception {
+    SqlStatementRecorder.clear();
+
+    mockMvc.perform(post("/farms/" + farm.getId() + "/crops/bulk")
+            .with(user("admin").roles("ADMIN"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectToJson(validCrops(120))))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.created").value(120));
+
+    long inserts = SqlStatementRecorder.getStatements().stream()
+        .map(sql -> sql.toLowerCase(Locale.ROOT))
+        .filter(sql -> sql.startsWith("insert into crop "))
+        .count();
+    assertEquals(3, inserts);
+    assertEquals(120, cropRepository.count());
+  }
+
+  @Test
+  @DisplayName("Quando o lote falha no banco, só a plantação inválida fica de fora")
+  void testBulkCreationBatchFailure() throws Exception {
+    List<Map<String, Object>> crops = validCrops(60);
+    crops.get(10).put("name", "M".repeat(300));
+
+    mockMvc.perform(post("/farms/" + farm.getId() + "/crops/bulk")
+            .with(user("admin").roles("ADMIN"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectToJson(crops)))
+        .andExpect(status().isMultiStatus())
+        .andExpect(jsonPath("$.received").value(60))
+        .andExpect(jsonPath("$.created").value(59))
+        .andExpect(jsonPath("$.failures.length()").value(1))
+        .andExpect(jsonPath("$.failures[0].index").value(10));
+
+    assertEquals(59, cropRepository.count());
+  }
+
+  @Test
+  @DisplayName("POST /farms/{farmId}/crops/bulk retorna 404 para fazenda inexistente")
+  void testBulkCreationFarmNotFound() throws Exception {
+    mockMvc.perform(post("/farms/" + (farm.getId() + 1) + "/crops/bulk")
+            .with(user("admin").roles("ADMIN"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[]"))
+        .andExpect(status().isNotFound());
+  }
+}
@@ -0,0 +1,133 @@
+package com.betrybe.agrix.evaluation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.evaluation.util.SimpleResultHandler;
+import com.betrybe.agrix.model.entities.Crop;
+import com.betrybe.agrix.model.entities.Farm;
+import com.betrybe.agrix.model.entities.Fertilizer;
+import com.betrybe.agrix.model.repositories.CropRepository;
+import com.betrybe.agrix.model.repositories.FarmRepository;
+import com.betrybe.agrix.model.repositories.FertilizerRepository;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("GET condicional com ETags")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class ConditionalGetTest {
+
+  MockMvc mockMvc;
+
+  @Autowired
+  WebApplicationContext wac;
+
+  @Autowired
+  FarmRepository farmRepository;
+
+  @Autowired
+  CropRepository cropRepository;
+
+  @Autowired
+  FertilizerRepository fertilizerRepository;
+
+  @BeforeEach
+  public void setup() {
+    this.mockMvc = MockMvcBuilders
+        .webAppContextSetup(wac)
+        .apply(springSecurity())
+        .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+        .alwaysDo(new SimpleResultHandler())
+        .build();
+  }
+
+  @Test
+  @DisplayName("GET /farms/{id} responde 304 enquanto a versão da fazenda não muda")
+  void testFarmById() throws Exception {
+    Farm farm = farmRepository.save(new Farm(null, "Fazenda Boa Vista", 10.0));
+    String url = "/farms/" + farm.getId();
+
+    String etag = assertConditional(url);
+
+    farm.setSize(20.0);
+    farmRepository.save(farm);
+
+    mockMvc.perform(get(url).with(user("user").roles("USER"))
+            .header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"" + farm.getId() + "-1\""));
+  }
+
+  @Test
+  @DisplayName("GET /crops/{id} e GET /fertilizers/{id} respondem 304 com o ETag da versão")
+  void testCropAndFertilizerById() throws Exception {
+    Farm farm = farmRepository.save(new Farm(null, "Fazenda Boa Vista", 10.0));
+    Crop crop = cropRepository.save(new Crop("Couve-flor", 5.43, farm,
+        LocalDate.parse("2022-12-05"), LocalDate.parse("2023-06-08")));
+    Fertilizer fertilizer = fertilizerRepository.save(
+        new Fertilizer(null, "Compostagem", "Feita em casa", "Restos de alimentos"));
+
+    assertEquals("\"" + crop.getId() + "-0\"", assertConditional("/crops/" + crop.getId()));
+    assertEquals("\"" + fertilizer.getId() + "-0\"",
+        assertConditional("/fertilizers/" + fertilizer.getId()));
+  }
+
+  @Test
+  @DisplayName("As listas têm um ETag agregado que muda quando qualquer linha muda")
+  void testCollections() throws Exception {
+    Farm farm = farmRepository.save(new Farm(null, "Fazenda Boa Vista", 10.0));
+    cropRepository.save(new Crop("Couve-flor", 5.43, farm,
+        LocalDate.parse("2022-12-05"), LocalDate.parse("2023-06-08")));
+    fertilizerRepository.save(
+        new Fertilizer(null, "Compostagem", "Feita em casa", "Restos de alimentos"));
+
+    for (String url : List.of("/farms", "/crops", "/fertilizers")) {
+      assertConditional(url);
+    }
+
+    String farmsEtag = assertConditional("/farms");
+    farm.setName("Fazenda Nova");
+    farmRepository.save(farm);
+    String updatedEtag = assertConditional("/farms");
+    assertNotEquals(farmsEtag, updatedEtag);
+
+    farmRepository.save(new Farm(null, "Fazenda Vista Alegre", 5.0));
+    assertNotEquals(updatedEtag, assertConditional("/farms"));
+  }
+
+  private String assertConditional(String url) throws Exception {
+    List<String> etags = mockMvc.perform(get(url).with(user("admin").roles("ADMIN")))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeaders(HttpHeaders.ETAG);
+    assertEquals(1, etags.size());
+    String etag = etags.get(0);
+
+    mockMvc.perform(get(url).with(user("admin").roles("ADMIN"))
+            .header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().stringValues(HttpHeaders.ETAG, etag))
+        .andExpect(content().string(""));
+
+    return etag;
+  }
+}
@@ -0,0 +1,86 @@
+package com.betrybe.agrix.evaluation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.evaluation.util.SimpleResultHandler;
+import com.betrybe.agrix.util.ConnectionPoolHealthIndicator;
+import java.nio.charset.StandardCharsets;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Métricas e prontidão do pool de conexões")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class ConnectionPoolReadinessTest {
+
+  MockMvc mockMvc;
+
+  @Autowired
+  WebApplicationContext wac;
+
+  @Autowired
+  DataSource dataSource;
+
+  @BeforeEach
+  public void setup() {
+    this.mockMvc = MockMvcBuilders
+        .webAppContextSetup(wac)
+        .apply(springSecurity())
+        .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+        .alwaysDo(new SimpleResultHandler())
+        .build();
+  }
+
+  @Test
+  @DisplayName("GET /actuator/health/readiness inclui o pool de conexões e não exige token")
+  void testReadinessIncludesConnectionPool() throws Exception {
+    mockMvc.perform(get("/actuator/health/readiness"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("UP"))
+        .andExpect(jsonPath("$.components").doesNotExist());
+
+    mockMvc.perform(get("/actuator/health/readiness")
+            .with(user("admin").roles("ADMIN")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.components.connectionPool.status").value("UP"))
+        .andExpect(jsonPath("$.components.connectionPool.details.pending").value(0));
+  }
+
+  @Test
+  @DisplayName("As métricas do pool de conexões são publicadas no actuator")
+  void testPoolMetrics() throws Exception {
+    for (String metric : new String[] {"hikaricp.connections.active",
+        "hikaricp.connections.idle", "hikaricp.connections.pending",
+        "hikaricp.connections.acquire"}) {
+      mockMvc.perform(get("/actuator/metrics/" + metric)
+              .with(user("admin").roles("ADMIN")))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.availableTags[?(@.tag == 'pool')].values[0]").value("agrix"));
+    }
+  }
+
+  @Test
+  @DisplayName("O pool fica OUT_OF_SERVICE quando há mais conexões pendentes que o limite")
+  void testOutOfServiceOverThreshold() {
+    Health health = new ConnectionPoolHealthIndicator(dataSource, -1).health();
+
+    assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+  }
+}
@@ -0,0 +1,104 @@
+package com.betrybe.agrix.evaluation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.evaluation.util.SimpleResultHandler;
+import com.betrybe.agrix.evaluation.util.SqlStatementRecorder;
+import com.betrybe.agrix.model.entities.Farm;
+import com.betrybe.agrix.model.repositories.CropRepository;
+import com.betrybe.agrix.model.repositories.FarmRepository;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.betrybe.agrix.evaluation.util.SqlStatementRecorder"
+})
+@ActiveProfiles("test")
+@DisplayName("Criação de plantações")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class CropCreationTest {
+
+  static final String CROP = "{\"name\": \"Couve-flor\", \"plantedArea\": 5.43,"
+      + " \"plantedDate\": \"2022-12-05\", \"harvestDate\": \"2023-06-08\"}";
+
+  MockMvc mockMvc;
+
+  @Autowired
+  WebApplicationContext wac;
+
+  @Autowired
+  FarmRepository farmRepository;
+
+  @Autowired
+  CropRepository cropRepository;
+
+  Farm farm;
+
+  @BeforeEach
+  public void setup() {
+    this.mockMvc = MockMvcBuilders
+        .webAppContextSetup(wac)
+        .apply(springSecurity())
+        .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+        .alwaysDo(new SimpleResultHandler())
+        .build();
+
+    farm = farmRepository.save(new Farm(null, "Fazenda Boa Vista", 10.0));
+  }
+
+  @Test
+  @DisplayName("POST /farms/{id}/crops cria a plantação sem consultar a fazenda nem a plantação")
+  void testCreateCropWithSingleInsert() throws Exception {
+    SqlStatementRecorder.clear();
+
+    mockMvc.perform(post("/farms/" + farm.getId() + "/crops")
+            .with(user("admin").roles("ADMIN"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(CROP))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.name").value("Couve-flor"))
+        .andExpect(jsonPath("$.farmId").value(farm.getId()))
+        .andExpect(jsonPath("$.harvestDate").value("2023-06-08"));
+
+    List<String> statements = SqlStatementRecorder.getStatements().stream()
+        .map(sql -> sql.toLowerCase(Locale.ROOT))
+        .filter(sql -> !sql.contains("crop_seq"))
+        .toList();
+    assertEquals(2, statements.size(), "Deve executar apenas o insert e o resumo: " + statements);
+    assertTrue(statements.get(0).startsWith("insert into crop"), statements.toString());
+    assertTrue(statements.get(1).startsWith("update farm_summary"), statements.toString());
+    assertEquals(1, cropRepository.count());
+  }
+
+  @Test
+  @DisplayName("POST /farms/{id}/crops com fazenda inexistente responde 404 sem criar a plantação")
+  void testCreateCropOnUnknownFarm() throws Exception {
+    mockMvc.perform(post("/farms/9999/crops")
+            .with(user("admin").roles("ADMIN"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(CROP))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$").value("Fazenda não encontrada!"));
+
+    assertEquals(0, cropRepository.count());
+  }
+}
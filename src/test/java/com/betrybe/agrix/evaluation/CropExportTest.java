@@ -0,0 +1,102 @@
+package com.betrybe.agrix.evaluation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.model.entities.Crop;
+import com.betrybe.agrix.model.entities.Farm;
+import com.betrybe.agrix.model.repositories.CropRepository;
+import com.betrybe.agrix.model.repositories.FarmRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Exportação de plantações em NDJSON")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class CropExportTest {
+
+  private static final int CROP_COUNT = 1200;
+
+  MockMvc mockMvc;
+
+  Long farmId;
+
+  @Autowired
+  WebApplicationContext wac;
+
+  @Autowired
+  ObjectMapper objectMapper;
+
+  @Autowired
+  FarmRepository farmRepository;
+
+  @Autowired
+  CropRepository cropRepository;
+
+  @BeforeEach
+  public void setup() {
+    this.mockMvc = MockMvcBuilders
+        .webAppContextSetup(wac)
+        .apply(springSecurity())
+        .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+        .build();
+
+    Farm farm = farmRepository.save(new Farm(null, "Fazenda Exportação", 100.0));
+    farmId = farm.getId();
+    LocalDate date = LocalDate.parse("2023-01-01");
+    List<Crop> crops = new ArrayList<>();
+    for (int i = 0; i < CROP_COUNT; i++) {
+      crops.add(new Crop("Plantação " + i, 1.0, farm, date, date.plusDays(i)));
+    }
+    cropRepository.saveAll(crops);
+  }
+
+  @Test
+  @DisplayName("GET /crops/export escreve uma plantação por linha")
+  void testExport() throws Exception {
+    MvcResult asyncResult = mockMvc.perform(get("/crops/export")
+            .with(user("manager").roles("MANAGER")))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    String body = mockMvc.perform(asyncDispatch(asyncResult))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/x-ndjson"))
+        .andReturn().getResponse().getContentAsString();
+
+    String[] lines = body.split("\n");
+    assertEquals(CROP_COUNT, lines.length);
+
+    Set<Object> names = new HashSet<>();
+    for (String line : lines) {
+      Map<?, ?> crop = objectMapper.readValue(line, Map.class);
+      assertEquals(farmId, ((Number) crop.get("farmId")).longValue());
+      names.add(crop.get("name"));
+    }
+    assertEquals(CROP_COUNT, names.size());
+  }
+}
@@ -0,0 +1,200 @@
+package com.betrybe.agrix.evaluation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.evaluation.util.ConcurrentInsertTrigger;
+import com.betrybe.agrix.evaluation.util.SimpleResultHandler;
+import com.betrybe.agrix.evaluation.util.SqlStatementRecorder;
+import com.betrybe.agrix.model.entities.Crop;
+import com.betrybe.agrix.model.entities.Farm;
+import com.betrybe.agrix.model.entities.Fertilizer;
+import com.betrybe.agrix.model.repositories.CropRepository;
+import com.betrybe.agrix.model.repositories.FarmRepository;
+import com.betrybe.agrix.model.repositories.FertilizerRepository;
+import com.betrybe.agrix.service.CropService;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.betrybe.agrix.evaluation.util.SqlStatementRecorder"
+})
+@ActiveProfiles("test")
+@DisplayName("Associação de fertilizantes a plantações")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class CropFertilizerAssociationTest {
+
+  MockMvc mockMvc;
+
+  @Autowired
+  WebApplicationContext wac;
+
+  @Autowired
+  FarmRepository farmRepository;
+
+  @Autowired
+  CropRepository cropRepository;
+
+  @Autowired
+  FertilizerRepository fertilizerRepository;
+
+  @Autowired
+  CropService cropService;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  Crop crop;
+
+  List<Fertilizer> fertilizers;
+
+  @BeforeEach
+  public void setup() {
+    this.mockMvc = MockMvcBuilders
+        .webAppContextSetup(wac)
+        .apply(springSecurity())
+        .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+        .alwaysDo(new SimpleResultHandler())
+        .build();
+
+    Farm farm = farmRepository.save(new Farm(null, "Fazenda Boa Vista", 10.0));
+    fertilizers = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      fertilizers.add(fertilizerRepository.save(new Fertilizer(null, "Adubo " + i,
+          "Marca " + i, "Composição " + i)));
+    }
+
+    crop = new Crop("Milho", 2.0, farm, LocalDate.parse("2023-01-01"),
+        LocalDate.parse("2023-03-10"));
+    crop.setFertilizers(new ArrayList<>(fertilizers.subList(0, 5)));
+    crop = cropRepository.save(crop);
+  }
+
+  private List<String> joinTableWrites() {
+    return SqlStatementRecorder.getStatements().stream()
+        .map(sql -> sql.toLowerCase(Locale.ROOT))
+        .filter(sql -> !sql.startsWith("select") && sql.contains("crop_fertilizer"))
+        .toList();
+  }
+
+  @Test
+  @DisplayName("POST /crops/{id}/fertilizers/{id} insere apenas uma linha, sem reescrever as demais")
+  void testSingleAssociationInsertsOneRow() throws Exception {
+    mockMvc.perform(get("/crops/" + crop.getId() + "/fertilizers")
+            .with(user("admin").roles("ADMIN")))
+        .andExpect(jsonPath("$.length()").value(5));
+
+    SqlStatementRecorder.clear();
+
+    mockMvc.perform(post("/crops/" + crop.getId() + "/fertilizers/" + fertilizers.get(5).getId())
+            .with(user("admin").roles("ADMIN")))
+        .andExpect(status().isCreated());
+
+    List<String> writes = joinTableWrites();
+    assertEquals(1, writes.size(), "Deve executar um único insert: " + writes);
+    assertEquals(0, SqlStatementRecorder.getStatements().stream()
+        .map(sql -> sql.toLowerCase(Locale.ROOT))
+        .filter(sql -> sql.startsWith("select") && sql.contains("join crop_fertilizer"))
+        .count(), "Não deve carregar a coleção de fertilizantes");
+
+    mockMvc.perform(get("/crops/" + crop.getId() + "/fertilizers")
+            .with(user("admin").roles("ADMIN")))
+        .andExpect(jsonPath("$.length()").value(6));
+  }
+
+  @Test
+  @DisplayName("Associar o mesmo fertilizante duas vezes não duplica a associação")
+  void testSingleAssociationIsIdempotent() throws Exception {
+    for (int i = 0; i < 2; i++) {
+      mockMvc.perform(post("/crops/" + crop.getId() + "/fertilizers/"
+              + fertilizers.get(0).getId())
+              .with(user("admin").roles("ADMIN")))
+          .andExpect(status().isCreated());
+    }
+
+    mockMvc.perform(get("/crops/" + crop.getId() + "/fertilizers")
+            .with(user("admin").roles("ADMIN")))
+        .andExpect(jsonPath("$.length()").value(5));
+  }
+
+  @Test
+  @DisplayName("POST /crops/{id}/fertilizers associa uma lista de fertilizantes")
+  void testBulkAssociation() throws Exception {
+    SqlStatementRecorder.clear();
+
+    mockMvc.perform(post("/crops/" + crop.getId() + "/fertilizers")
+            .with(user("admin").roles("ADMIN"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[%d, %d, %d, %d]".formatted(fertilizers.get(4).getId(),
+                fertilizers.get(5).getId(), fertilizers.get(6).getId(),
+                fertilizers.get(7).getId())))
+        .andExpect(status().isCreated());
+
+    assertEquals(1, joinTableWrites().size());
+
+    mockMvc.perform(get("/crops/" + crop.getId() + "/fertilizers")
+            .with(user("admin").roles("ADMIN")))
+        .andExpect(jsonPath("$.length()").value(8));
+  }
+
+  @Test
+  @DisplayName("POST /crops/{id}/fertilizers com um fertilizante inexistente não associa nenhum")
+  void testBulkAssociationWithUnknownFertilizer() throws Exception {
+    mockMvc.perform(post("/crops/" + crop.getId() + "/fertilizers")
+            .with(user("admin").roles("ADMIN"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[%d, 9999]".formatted(fertilizers.get(6).getId())))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$").value("Fertilizante não encontrado!"));
+
+    mockMvc.perform(post("/crops/9999/fertilizers")
+            .with(user("admin").roles("ADMIN"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[%d]".formatted(fertilizers.get(6).getId())))
+        .andExpect(status().isNotFound());
+
+    mockMvc.perform(get("/crops/" + crop.getId() + "/fertilizers")
+            .with(user("admin").roles("ADMIN")))
+        .andExpect(jsonPath("$.length()").value(5));
+  }
+
+  @Test
+  @DisplayName("Uma associação inserida por outra requisição ao mesmo tempo não gera erro")
+  void testConcurrentDuplicateIsIgnored() throws Exception {
+    Long cropId = crop.getId();
+    Long concurrentId = fertilizers.get(7).getId();
+    ConcurrentInsertTrigger.arm("jdbc:h2:mem:testdb",
+        "INSERT INTO crop_fertilizer (fertilizer_id, crop_id) VALUES (?, ?)", cropId, concurrentId);
+    jdbcTemplate.execute("CREATE TRIGGER concurrent_insert BEFORE INSERT ON crop_fertilizer"
+        + " FOR EACH ROW CALL \"" + ConcurrentInsertTrigger.class.getName() + "\"");
+
+    int added = cropService.setFertilizers(cropId, List.of(fertilizers.get(6).getId(),
+        concurrentId));
+
+    assertEquals(1, added);
+    mockMvc.perform(get("/crops/" + cropId + "/fertilizers")
+            .with(user("admin").roles("ADMIN")))
+        .andExpect(jsonPath("$.length()").value(7));
+  }
+}
@@ -0,0 +1,59 @@
+package com.betrybe.agrix.evaluation;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.betrybe.agrix.model.entities.Crop;
+import com.betrybe.agrix.model.entities.Farm;
+import com.betrybe.agrix.model.repositories.CropRepository;
+import com.betrybe.agrix.model.repositories.FarmRepository;
+import com.betrybe.agrix.util.CropSequenceInitializer;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Sequência dos ids das plantações")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class CropIdSequenceTest {
+
+  @Autowired
+  FarmRepository farmRepository;
+
+  @Autowired
+  CropRepository cropRepository;
+
+  @Autowired
+  CropSequenceInitializer cropSequenceInitializer;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @Test
+  @DisplayName("Os novos ids começam depois dos ids já gravados")
+  void testSequenceStartsAfterExistingIds() {
+    Farm farm = farmRepository.save(new Farm(null, "Fazenda Antiga", 10.0));
+    jdbcTemplate.update("INSERT INTO crop (id, name, farm_id, version) VALUES (1000, ?, ?, 0)",
+        "Plantação antiga", farm.getId());
+
+    cropSequenceInitializer.seed();
+    cropSequenceInitializer.seed();
+
+    List<Crop> crops = cropRepository.saveAll(List.of(
+        new Crop("Milho", 1.0, farm, LocalDate.parse("2023-01-10"),
+            LocalDate.parse("2023-05-01")),
+        new Crop("Soja", 1.0, farm, LocalDate.parse("2023-01-10"),
+            LocalDate.parse("2023-05-01"))
+    ));
+
+    for (Crop crop : crops) {
+      assertTrue(crop.getId() > 1000, "id " + crop.getId());
+    }
+  }
+}
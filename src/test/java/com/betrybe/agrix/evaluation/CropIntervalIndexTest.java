@@ -0,0 +1,217 @@
+package com.betrybe.agrix.evaluation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.evaluation.util.SimpleResultHandler;
+import com.betrybe.agrix.evaluation.util.SqlStatementRecorder;
+import com.betrybe.agrix.model.entities.Crop;
+import com.betrybe.agrix.model.entities.Farm;
+import com.betrybe.agrix.model.projections.CropRow;
+import com.betrybe.agrix.model.repositories.CropRepository;
+import com.betrybe.agrix.model.repositories.FarmRepository;
+import com.betrybe.agrix.util.CropIntervalIndex;
+import com.betrybe.agrix.util.InMemoryIndexLoader;
+import com.betrybe.agrix.util.IntervalTree;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(properties = {
+    "api.crops.interval-index.enabled=true",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.betrybe.agrix.evaluation.util.SqlStatementRecorder"
+})
+@ActiveProfiles("test")
+@DisplayName("Índice em memória das janelas de plantio e colheita")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class CropIntervalIndexTest {
+
+  MockMvc mockMvc;
+
+  @Autowired
+  WebApplicationContext wac;
+
+  @Autowired
+  FarmRepository farmRepository;
+
+  @Autowired
+  CropRepository cropRepository;
+
+  @Autowired
+  CropIntervalIndex cropIntervalIndex;
+
+  @Autowired
+  InMemoryIndexLoader inMemoryIndexLoader;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  Farm farm;
+
+  @BeforeEach
+  public void setup() {
+    this.mockMvc = MockMvcBuilders
+        .webAppContextSetup(wac)
+        .apply(springSecurity())
+        .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+        .alwaysDo(new SimpleResultHandler())
+        .build();
+
+    farm = farmRepository.save(new Farm(null, "Fazenda Boa Vista", 10.0));
+    cropRepository.saveAll(List.of(
+        new Crop("Milho", 2.0, farm, LocalDate.parse("2023-01-01"),
+            LocalDate.parse("2023-03-10")),
+        new Crop("Soja", 3.0, farm, LocalDate.parse("2023-02-01"),
+            LocalDate.parse("2023-02-15")),
+        new Crop("Arroz", 1.5, farm, LocalDate.parse("2023-04-01"),
+            LocalDate.parse("2023-06-20"))
+    ));
+  }
+
+  @Test
+  @DisplayName("GET /crops/search e GET /crops/search/overlap não consultam a tabela crop")
+  void testSearchesUseIndex() throws Exception {
+    SqlStatementRecorder.clear();
+
+    mockMvc.perform(get("/crops/search")
+            .param("start", "2023-01-31")
+            .param("end", "2023-04-01")
+            .with(user("manager").roles("MANAGER"))
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[0].name").value("Soja"))
+        .andExpect(jsonPath("$[1].name").value("Milho"));
+
+    mockMvc.perform(get("/crops/search/overlap")
+            .param("start", "2023-03-01")
+            .param("end", "2023-04-01")
+            .with(user("manager").roles("MANAGER"))
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[0].name").value("Milho"))
+        .andExpect(jsonPath("$[1].name").value("Arroz"));
+
+    mockMvc.perform(get("/crops/search/overlap")
+            .param("start", "2023-01-15")
+            .param("end", "2023-03-31")
+            .param("within", "true")
+            .with(user("manager").roles("MANAGER"))
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].name").value("Soja"));
+
+    long cropSelects = SqlStatementRecorder.getStatements().stream()
+        .map(sql -> sql.toLowerCase(Locale.ROOT))
+        .filter(sql -> sql.startsWith("select") && sql.contains(" from crop "))
+        .count();
+    assertEquals(0, cropSelects, "As buscas devem ser respondidas pelo índice");
+  }
+
+  @Test
+  @DisplayName("As plantações salvas entram no índice e as carregadas do banco não se duplicam")
+  void testIndexUpdatedOnSaveAndLoad() throws Exception {
+    Crop crop = cropRepository.findAll().stream()
+        .filter(found -> found.getName().equals("Arroz"))
+        .findFirst().orElseThrow();
+    crop.setHarverstDate(LocalDate.parse("2023-12-20"));
+    cropRepository.save(crop);
+
+    jdbcTemplate.update("INSERT INTO crop (id, name, planted_area, farm_id, planting_date,"
+        + " harvest_date, version) VALUES (999, 'Feijão', 1.0, ?, '2023-11-01', '2023-11-30', 0)",
+        farm.getId());
+    inMemoryIndexLoader.load();
+
+    List<String> names = cropIntervalIndex
+        .findOverlapping(LocalDate.parse("2023-10-01"), LocalDate.parse("2023-12-31"), 10)
+        .stream().map(found -> found.name()).toList();
+    assertEquals(List.of("Arroz", "Feijão"), names);
+    assertEquals(4, cropIntervalIndex
+        .findOverlapping(LocalDate.parse("2000-01-01"), LocalDate.parse("2100-01-01"), 10)
+        .size());
+  }
+
+  @Test
+  @DisplayName("As plantações removidas durante a carga não voltam ao índice")
+  void testRemovedWhileLoadingStayRemoved() {
+    Crop removed = cropRepository.findAll().stream()
+        .filter(found -> found.getName().equals("Soja"))
+        .findFirst().orElseThrow();
+
+    cropIntervalIndex.beginLoad();
+    List<CropRow> crops = cropRepository.findAllResponses();
+    cropRepository.delete(removed);
+    cropIntervalIndex.load(crops);
+
+    List<String> names = cropIntervalIndex
+        .findOverlapping(LocalDate.parse("2000-01-01"), LocalDate.parse("2100-01-01"), 10)
+        .stream().map(CropRow::name).toList();
+    assertEquals(List.of("Milho", "Arroz"), names);
+  }
+
+  @Test
+  @DisplayName("A árvore de intervalos responde igual a uma busca linear")
+  void testIntervalTreeMatchesLinearSearch() {
+    Random random = new Random(42);
+    IntervalTree<long[]> tree = new IntervalTree<>();
+    List<long[]> intervals = new ArrayList<>();
+    LocalDate base = LocalDate.parse("2023-01-01");
+
+    for (long id = 0; id < 2000; id++) {
+      long start = random.nextInt(365);
+      long[] interval = {start, start + random.nextInt(120), id};
+      intervals.add(interval);
+      tree.insert(base.plusDays(interval[0]), base.plusDays(interval[1]), id, interval);
+    }
+    for (int i = 0; i < 500; i++) {
+      long[] removed = intervals.remove(random.nextInt(intervals.size()));
+      assertTrue(tree.remove(base.plusDays(removed[0]), removed[2]));
+    }
+    assertEquals(intervals.size(), tree.size());
+
+    Comparator<long[]> order = Comparator.<long[]>comparingLong(interval -> interval[0])
+        .thenComparingLong(interval -> interval[2]);
+    for (int i = 0; i < 100; i++) {
+      long from = random.nextInt(400);
+      long to = from + random.nextInt(60);
+
+      List<long[]> overlapping = intervals.stream()
+          .filter(interval -> interval[0] <= to && interval[1] >= from)
+          .sorted(order).toList();
+      List<long[]> within = intervals.stream()
+          .filter(interval -> interval[0] >= from && interval[1] <= to)
+          .sorted(order).toList();
+
+      assertEquals(overlapping, tree.findOverlapping(base.plusDays(from), base.plusDays(to),
+          Integer.MAX_VALUE));
+      assertEquals(within, tree.findWithin(base.plusDays(from), base.plusDays(to),
+          Integer.MAX_VALUE));
+      assertEquals(overlapping.stream().limit(5).toList(),
+          tree.findOverlapping(base.plusDays(from), base.plusDays(to), 5));
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package com.betrybe.agrix.evaluation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.evaluation.util.SimpleResultHandler;
+import com.betrybe.agrix.evaluation.util.SqlStatementRecorder;
+import com.betrybe.agrix.model.entities.Crop;
+import com.betrybe.agrix.model.entities.Farm;
+import com.betrybe.agrix.model.repositories.CropRepository;
+import com.betrybe.agrix.model.repositories.FarmRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.betrybe.agrix.evaluation.util.SqlStatementRecorder"
+})
+@ActiveProfiles("test")
+@DisplayName("Listagem de plantações por projeção")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class CropProjectionTest {
+
+  MockMvc mockMvc;
+
+  @Autowired
+  WebApplicationContext wac;
+
+  @Autowired
+  FarmRepository farmRepository;
+
+  @Autowired
+  CropRepository cropRepository;
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  Farm farm;
+
+  @BeforeEach
+  public void setup() {
+    this.mockMvc = MockMvcBuilders
+        .webAppContextSetup(wac)
+        .apply(springSecurity())
+        .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+        .alwaysDo(new SimpleResultHandler())
+        .build();
+
+    List<Crop> crops = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      farm = farmRepository.save(new Farm(null, "Fazenda " + i, 10.0));
+      for (int j = 0; j < 4; j++) {
+        crops.add(new Crop("Plantação " + i + "-" + j, 1.0, farm,
+            LocalDate.parse("2023-01-10"), LocalDate.parse("2023-05-01")));
+      }
+    }
+    cropRepository.saveAll(crops);
+    entityManagerFactory.getCache().evictAll();
+  }
+
+  @Test
+  @DisplayName("GET /crops lê as plantações em uma consulta, sem carregar as fazendas")
+  void testListReadsOnlyTheCropTable() throws Exception {
+    SqlStatementRecorder.clear();
+
+    mockMvc.perform(get("/crops")
+            .with(user("manager").roles("MANAGER"))
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(20))
+        .andExpect(jsonPath("$[0].farmId").isNumber());
+
+    List<String> statements = lowerCase(SqlStatementRecorder.getStatements());
+    assertTrue(statements.stream().noneMatch(sql -> sql.contains(" from farm ")),
+        "As fazendas não devem ser carregadas: " + statements);
+    assertEquals(1, statements.stream().filter(sql -> sql.contains(" from crop ")
+        && !sql.contains("count(")).count(), "Deve haver uma única leitura: " + statements);
+  }
+
+  @Test
+  @DisplayName("GET /farms/{farmId}/crops faz a verificação da fazenda e uma leitura")
+  void testFarmCropsReadOnce() throws Exception {
+    SqlStatementRecorder.clear();
+
+    mockMvc.perform(get("/farms/" + farm.getId() + "/crops")
+            .with(user("user").roles("USER"))
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(4))
+        .andExpect(jsonPath("$[0].farmId").value(farm.getId()));
+
+    assertEquals(2, SqlStatementRecorder.getStatements().size(),
+        "Deve executar a verificação e a leitura: " + SqlStatementRecorder.getStatements());
+  }
+
+  private static List<String> lowerCase(List<String> statements) {
+    return statements.stream().map(sql -> sql.toLowerCase(Locale.ROOT)).toList();
+  }
+}
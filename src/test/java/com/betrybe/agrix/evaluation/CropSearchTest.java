@@ -0,0 +1,116 @@
+package com.betrybe.agrix.evaluation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.evaluation.util.SimpleResultHandler;
+import com.betrybe.agrix.evaluation.util.SqlStatementRecorder;
+import com.betrybe.agrix.model.entities.Crop;
+import com.betrybe.agrix.model.entities.Farm;
+import com.betrybe.agrix.model.repositories.CropRepository;
+import com.betrybe.agrix.model.repositories.FarmRepository;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.betrybe.agrix.evaluation.util.SqlStatementRecorder"
+})
+@ActiveProfiles("test")
+@DisplayName("Busca de plantações por data de colheita")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class CropSearchTest {
+
+  MockMvc mockMvc;
+
+  @Autowired
+  WebApplicationContext wac;
+
+  @Autowired
+  FarmRepository farmRepository;
+
+  @Autowired
+  CropRepository cropRepository;
+
+  @BeforeEach
+  public void setup() {
+    this.mockMvc = MockMvcBuilders
+        .webAppContextSetup(wac)
+        .apply(springSecurity())
+        .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+        .alwaysDo(new SimpleResultHandler())
+        .build();
+
+    Farm farm = farmRepository.save(new Farm(null, "Fazenda Boa Vista", 10.0));
+    cropRepository.saveAll(List.of(
+        new Crop("Milho", 2.0, farm, LocalDate.parse("2023-01-01"),
+            LocalDate.parse("2023-03-10")),
+        new Crop("Soja", 3.0, farm, LocalDate.parse("2023-01-01"),
+            LocalDate.parse("2023-02-15")),
+        new Crop("Arroz", 1.5, farm, LocalDate.parse("2023-01-01"),
+            LocalDate.parse("2023-06-20"))
+    ));
+  }
+
+  @Test
+  @DisplayName("GET /crops/search filtra e ordena pela data de colheita no banco")
+  void testSearchRunsRangeQuery() throws Exception {
+    SqlStatementRecorder.clear();
+
+    mockMvc.perform(get("/crops/search")
+            .param("start", "2023-01-31")
+            .param("end", "2023-04-01")
+            .with(user("manager").roles("MANAGER"))
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[0].name").value("Soja"))
+        .andExpect(jsonPath("$[1].name").value("Milho"));
+
+    List<String> cropSelects = SqlStatementRecorder.getStatements().stream()
+        .map(sql -> sql.toLowerCase(Locale.ROOT))
+        .filter(sql -> sql.startsWith("select") && sql.contains(" from crop "))
+        .toList();
+
+    assertEquals(1, cropSelects.size(), "A busca deve executar uma única consulta");
+    String sql = cropSelects.get(0);
+    assertTrue(sql.contains(" where "), "A consulta não deve ler a tabela inteira: " + sql);
+    assertTrue(sql.contains("harvest_date>?") || sql.contains("harvest_date > ?"),
+        "A consulta deve filtrar pela data de colheita: " + sql);
+    assertTrue(sql.contains("order by"), "A consulta deve ser ordenada: " + sql);
+    assertTrue(sql.contains("fetch first") || sql.contains("limit"),
+        "A consulta deve ser limitada: " + sql);
+  }
+
+  @Test
+  @DisplayName("GET /crops/search respeita o parâmetro limit")
+  void testSearchRespectsLimit() throws Exception {
+    mockMvc.perform(get("/crops/search")
+            .param("start", "2023-01-01")
+            .param("end", "2023-12-31")
+            .param("limit", "1")
+            .with(user("admin").roles("ADMIN"))
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].name").value("Soja"));
+  }
+}
@@ -0,0 +1,195 @@
+package com.betrybe.agrix.evaluation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.evaluation.util.SimpleResultHandler;
+import com.betrybe.agrix.evaluation.util.SqlStatementRecorder;
+import com.betrybe.agrix.model.entities.Crop;
+import com.betrybe.agrix.model.entities.Farm;
+import com.betrybe.agrix.model.repositories.CropRepository;
+import com.betrybe.agrix.model.repositories.FarmRepository;
+import com.betrybe.agrix.service.FarmService;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.betrybe.agrix.evaluation.util.SqlStatementRecorder"
+})
+@ActiveProfiles("test")
+@DisplayName("Tabela farm_summary mantida a cada escrita")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class FarmSummaryMaterializationTest {
+
+  MockMvc mockMvc;
+
+  @Autowired
+  WebApplicationContext wac;
+
+  @Autowired
+  FarmRepository farmRepository;
+
+  @Autowired
+  CropRepository cropRepository;
+
+  @Autowired
+  FarmService farmService;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  Farm farm;
+
+  Farm otherFarm;
+
+  Crop corn;
+
+  @BeforeEach
+  public void setup() {
+    this.mockMvc = MockMvcBuilders
+        .webAppContextSetup(wac)
+        .apply(springSecurity())
+        .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+        .alwaysDo(new SimpleResultHandler())
+        .build();
+
+    farm = farmRepository.save(new Farm(null, "Fazenda Boa Vista", 10.0));
+    otherFarm = farmRepository.save(new Farm(null, "Fazenda Nova", 5.0));
+
+    List<Crop> crops = cropRepository.saveAll(List.of(
+        new Crop("Milho", 2.0, farm, LocalDate.parse("2023-01-10"), LocalDate.parse("2023-05-01")),
+        new Crop("Soja", 3.0, farm, LocalDate.parse("2023-02-10"), LocalDate.parse("2023-07-20"))
+    ));
+    corn = crops.get(0);
+  }
+
+  private Map<String, Object> totalsOf(Farm owner) {
+    return jdbcTemplate.queryForMap("SELECT * FROM farm_summary WHERE farm_id = ?",
+        owner.getId());
+  }
+
+  @Test
+  @DisplayName("Fazendas e plantações criadas atualizam a linha da fazenda")
+  void testInsertsUpdateTotals() throws Exception {
+    Map<String, Object> totals = totalsOf(farm);
+    assertEquals(2L, ((Number) totals.get("CROP_COUNT")).longValue());
+    assertEquals(5.0, ((Number) totals.get("PLANTED_AREA")).doubleValue());
+    assertEquals(0L, ((Number) totalsOf(otherFarm).get("CROP_COUNT")).longValue());
+
+    mockMvc.perform(post("/farms/" + farm.getId() + "/crops")
+            .with(user("admin").roles("ADMIN"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("""
+                {
+                  "name": "Arroz",
+                  "plantedArea": 1.5,
+                  "plantedDate": "2022-12-01",
+                  "harvestDate": "2023-03-15"
+                }
+                """))
+        .andExpect(status().isCreated());
+
+    mockMvc.perform(get("/farms/" + farm.getId() + "/summary")
+            .with(user("user").roles("USER")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.cropCount").value(3))
+        .andExpect(jsonPath("$.plantedArea").value(6.5))
+        .andExpect(jsonPath("$.earliestHarvestDate").value("2023-03-15"))
+        .andExpect(jsonPath("$.latestHarvestDate").value("2023-07-20"));
+
+    mockMvc.perform(post("/farms/9999/crops")
+            .with(user("admin").roles("ADMIN"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("""
+                {
+                  "name": "Trigo",
+                  "plantedArea": 1.0,
+                  "plantedDate": "2022-12-01",
+                  "harvestDate": "2023-03-15"
+                }
+                """))
+        .andExpect(status().isNotFound());
+    assertEquals(2L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM farm_summary",
+        Long.class));
+  }
+
+  @Test
+  @DisplayName("Mover uma plantação de fazenda recalcula as duas linhas")
+  void testMovedCropRecomputesBothFarms() {
+    corn.setFarm(otherFarm);
+    corn = cropRepository.save(corn);
+
+    Map<String, Object> totals = totalsOf(farm);
+    assertEquals(1L, ((Number) totals.get("CROP_COUNT")).longValue());
+    assertEquals(3.0, ((Number) totals.get("PLANTED_AREA")).doubleValue());
+    assertEquals("2023-07-20", totals.get("EARLIEST_HARVEST_DATE").toString());
+
+    Map<String, Object> otherTotals = totalsOf(otherFarm);
+    assertEquals(1L, ((Number) otherTotals.get("CROP_COUNT")).longValue());
+    assertEquals("2023-05-01", otherTotals.get("LATEST_HARVEST_DATE").toString());
+
+    cropRepository.delete(corn);
+    assertEquals(0L, ((Number) totalsOf(otherFarm).get("CROP_COUNT")).longValue());
+    assertNull(totalsOf(otherFarm).get("EARLIEST_HARVEST_DATE"));
+  }
+
+  @Test
+  @DisplayName("A reconstrução corrige linhas divergentes")
+  void testRebuildRepairsTotals() {
+    jdbcTemplate.update("UPDATE farm_summary SET crop_count = 99 WHERE farm_id = ?",
+        farm.getId());
+    jdbcTemplate.update("DELETE FROM farm_summary WHERE farm_id = ?", otherFarm.getId());
+    jdbcTemplate.update("INSERT INTO farm_summary (farm_id, crop_count, planted_area)"
+        + " VALUES (9999, 1, 1)");
+
+    assertEquals(2, farmService.rebuildFarmSummaries());
+
+    assertEquals(2L, ((Number) totalsOf(farm).get("CROP_COUNT")).longValue());
+    assertEquals(0L, ((Number) totalsOf(otherFarm).get("CROP_COUNT")).longValue());
+    assertEquals(2L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM farm_summary",
+        Long.class));
+  }
+
+  @Test
+  @DisplayName("GET /farms/{id}/summary lê a linha da fazenda sem agregar as plantações")
+  void testSummaryReadsByPrimaryKey() throws Exception {
+    SqlStatementRecorder.clear();
+
+    mockMvc.perform(get("/farms/" + farm.getId() + "/summary")
+            .with(user("user").roles("USER")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.cropCount").value(2))
+        .andExpect(jsonPath("$.nextHarvestDate").isEmpty());
+
+    List<String> statements = SqlStatementRecorder.getStatements().stream()
+        .map(sql -> sql.toLowerCase(Locale.ROOT))
+        .toList();
+    assertEquals(1, statements.size(), statements.toString());
+    assertTrue(statements.get(0).contains("farm_summary"), statements.toString());
+    assertFalse(statements.get(0).contains("group by"), statements.toString());
+  }
+}
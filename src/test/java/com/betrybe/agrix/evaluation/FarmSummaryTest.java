@@ -0,0 +1,106 @@
+package com.betrybe.agrix.evaluation;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.evaluation.util.SimpleResultHandler;
+import com.betrybe.agrix.model.entities.Crop;
+import com.betrybe.agrix.model.entities.Farm;
+import com.betrybe.agrix.model.repositories.CropRepository;
+import com.betrybe.agrix.model.repositories.FarmRepository;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Resumo das fazendas")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class FarmSummaryTest {
+
+  MockMvc mockMvc;
+
+  @Autowired
+  WebApplicationContext wac;
+
+  @Autowired
+  FarmRepository farmRepository;
+
+  @Autowired
+  CropRepository cropRepository;
+
+  Farm farm;
+
+  Farm emptyFarm;
+
+  LocalDate nextHarvest;
+
+  @BeforeEach
+  public void setup() {
+    this.mockMvc = MockMvcBuilders
+        .webAppContextSetup(wac)
+        .apply(springSecurity())
+        .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+        .alwaysDo(new SimpleResultHandler())
+        .build();
+
+    farm = farmRepository.save(new Farm(null, "Fazenda Boa Vista", 10.0));
+    emptyFarm = farmRepository.save(new Farm(null, "Fazenda Vazia", 5.0));
+
+    LocalDate today = LocalDate.now();
+    nextHarvest = today.plusDays(10);
+    cropRepository.saveAll(List.of(
+        new Crop("Milho", 2.0, farm, today.minusMonths(3), today.minusDays(5)),
+        new Crop("Soja", 3.0, farm, today.minusMonths(1), nextHarvest),
+        new Crop("Arroz", 0.5, farm, today.minusMonths(1), today.plusDays(40))
+    ));
+  }
+
+  @Test
+  @DisplayName("GET /farms/{id}/summary calcula os totais da fazenda")
+  void testFarmSummary() throws Exception {
+    mockMvc.perform(get("/farms/" + farm.getId() + "/summary")
+            .with(user("user").roles("USER"))
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.farmId").value(farm.getId()))
+        .andExpect(jsonPath("$.cropCount").value(3))
+        .andExpect(jsonPath("$.plantedArea").value(5.5))
+        .andExpect(jsonPath("$.utilization").value(0.55))
+        .andExpect(jsonPath("$.nextHarvestDate").value(nextHarvest.toString()));
+
+    mockMvc.perform(get("/farms/" + (emptyFarm.getId() + 1) + "/summary")
+            .with(user("user").roles("USER"))
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  @DisplayName("GET /farms/summary inclui fazendas sem plantações")
+  void testAllFarmSummaries() throws Exception {
+    mockMvc.perform(get("/farms/summary")
+            .with(user("user").roles("USER"))
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[0].cropCount").value(3))
+        .andExpect(jsonPath("$[1].name").value("Fazenda Vazia"))
+        .andExpect(jsonPath("$[1].cropCount").value(0))
+        .andExpect(jsonPath("$[1].plantedArea").value(0.0))
+        .andExpect(jsonPath("$[1].nextHarvestDate").isEmpty());
+  }
+}
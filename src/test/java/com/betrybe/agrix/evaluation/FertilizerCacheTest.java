@@ -0,0 +1,64 @@
+package com.betrybe.agrix.evaluation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.betrybe.agrix.model.entities.Fertilizer;
+import com.betrybe.agrix.service.FertilizerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Cache de segundo nível dos fertilizantes")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class FertilizerCacheTest {
+
+  @Autowired
+  FertilizerService fertilizerService;
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  Statistics statistics;
+
+  @BeforeEach
+  public void setup() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @Test
+  @DisplayName("Leituras de fertilizantes não vão ao banco depois do aquecimento")
+  void testFertilizerReadsHitCache() throws Exception {
+    Fertilizer fertilizer = fertilizerService.createFertilizer(
+        new Fertilizer(null, "Compostagem", "Feita em casa", "Restos de alimentos"));
+
+    fertilizerService.getAllFertilizers();
+    fertilizerService.getFertilizerById(fertilizer.getId());
+    statistics.clear();
+
+    fertilizerService.getAllFertilizers();
+    fertilizerService.getFertilizerById(fertilizer.getId());
+
+    assertEquals(0, statistics.getPrepareStatementCount(),
+        "Nenhuma consulta deve ser enviada ao banco");
+    assertEquals(1, statistics.getQueryCacheHitCount());
+    assertTrue(statistics.getSecondLevelCacheHitCount() >= 1);
+
+    assertTrue(meterRegistry.find("hibernate.second.level.cache.requests")
+        .tag("region", "fertilizer").functionCounters().size() > 0,
+        "As estatísticas do cache devem ser publicadas no actuator");
+  }
+}
@@ -0,0 +1,161 @@
+package com.betrybe.agrix.evaluation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.evaluation.util.SimpleResultHandler;
+import com.betrybe.agrix.model.entities.Fertilizer;
+import com.betrybe.agrix.model.repositories.FertilizerRepository;
+import com.betrybe.agrix.service.FertilizerService;
+import com.betrybe.agrix.util.KeysetPagination;
+import com.betrybe.agrix.util.NutrientComposition;
+import jakarta.persistence.EntityManagerFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Composição N-P-K dos fertilizantes")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class FertilizerNutrientTest {
+
+  MockMvc mockMvc;
+
+  @Autowired
+  WebApplicationContext wac;
+
+  @Autowired
+  FertilizerRepository fertilizerRepository;
+
+  @Autowired
+  FertilizerService fertilizerService;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  List<Fertilizer> fertilizers;
+
+  @BeforeEach
+  public void setup() {
+    this.mockMvc = MockMvcBuilders
+        .webAppContextSetup(wac)
+        .apply(springSecurity())
+        .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+        .alwaysDo(new SimpleResultHandler())
+        .build();
+
+    fertilizers = fertilizerRepository.saveAll(List.of(
+        new Fertilizer(null, "Uréia", "Yara", "46% N"),
+        new Fertilizer(null, "Formulado", "Heringer", "NPK 10-10-10"),
+        new Fertilizer(null, "Plantio", "Fertipar", "04-14-08"),
+        new Fertilizer(null, "Composto Orgânico", "Marca", "Esterco curtido")
+    ));
+  }
+
+  @Test
+  @DisplayName("A composição é lida como grau N-P-K ou como nutrientes rotulados")
+  void testParseComposition() {
+    assertEquals(Optional.of(new NutrientComposition(10, 10, 10)),
+        NutrientComposition.parse("NPK 10-10-10"));
+    assertEquals(Optional.of(new NutrientComposition(4, 14, 8)),
+        NutrientComposition.parse("Formulado 04-14-08 + micronutrientes"));
+    assertEquals(Optional.of(new NutrientComposition(10.5, 5, 0)),
+        NutrientComposition.parse("10,5 - 5 - 0"));
+    assertEquals(Optional.of(new NutrientComposition(46, 0, 0)),
+        NutrientComposition.parse("46% N"));
+    assertEquals(Optional.of(new NutrientComposition(21, 0, 0)),
+        NutrientComposition.parse("Nitrogênio: 21%, Enxofre: 24%"));
+    assertEquals(Optional.of(new NutrientComposition(0, 18, 0)),
+        NutrientComposition.parse("18% de P2O5 e 16% de cálcio"));
+    assertEquals(Optional.of(new NutrientComposition(0, 0, 60)),
+        NutrientComposition.parse("Potássio 60%"));
+    assertEquals(Optional.of(new NutrientComposition(10, 20, 30)),
+        NutrientComposition.parse("N: 10% P: 20% K: 30%"));
+    assertEquals(Optional.of(new NutrientComposition(10, 20, 30)),
+        NutrientComposition.parse("N 10% P 20% K 30%"));
+    assertEquals(Optional.of(new NutrientComposition(10, 20, 30)),
+        NutrientComposition.parse("10% N 20% P 30% K"));
+    assertEquals(Optional.of(new NutrientComposition(10, 5, 0)),
+        NutrientComposition.parse("Nitrogênio: 10%, P2O5: 5%"));
+    assertEquals(Optional.empty(), NutrientComposition.parse("Composição 1"));
+    assertEquals(Optional.empty(), NutrientComposition.parse("Colhido em 2023-01-10"));
+    assertEquals(Optional.empty(), NutrientComposition.parse("90-90-90"));
+    assertEquals(Optional.empty(), NutrientComposition.parse(null));
+  }
+
+  @Test
+  @DisplayName("GET /fertilizers filtra pelos nutrientes no banco")
+  void testFilterByNutrients() throws Exception {
+    mockMvc.perform(get("/fertilizers").param("minN", "10")
+            .with(user("admin").roles("ADMIN"))
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[0].name").value("Uréia"))
+        .andExpect(jsonPath("$[0].nitrogen").value(46.0))
+        .andExpect(jsonPath("$[1].name").value("Formulado"));
+
+    mockMvc.perform(get("/fertilizers").param("minP", "10").param("minK", "8")
+            .with(user("admin").roles("ADMIN")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[0].name").value("Formulado"))
+        .andExpect(jsonPath("$[1].name").value("Plantio"));
+
+    mockMvc.perform(get("/fertilizers").param("minN", "0").param("limit", "1")
+            .with(user("admin").roles("ADMIN")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(header().string(KeysetPagination.NEXT_CURSOR_HEADER,
+            String.valueOf(fertilizers.get(0).getId())));
+
+    mockMvc.perform(get("/fertilizers").param("minN", "1")
+            .with(user("user").roles("USER")))
+        .andExpect(status().isForbidden());
+  }
+
+  @Test
+  @DisplayName("Os fertilizantes antigos recebem os nutrientes no preenchimento")
+  void testBackfillNutrients() throws Exception {
+    Long fourth = fertilizers.get(3).getId();
+    assertNull(fertilizerRepository.findById(fourth).get().getNitrogen());
+
+    jdbcTemplate.update("UPDATE fertilizer SET nitrogen = NULL, phosphorus = NULL,"
+        + " potassium = NULL, composition = ? WHERE id = ?", "NPK 20-05-20", fourth);
+    jdbcTemplate.update("UPDATE fertilizer SET nitrogen = NULL, phosphorus = NULL,"
+        + " potassium = NULL WHERE id = ?", fertilizers.get(1).getId());
+    entityManagerFactory.getCache().evictAll();
+
+    assertEquals(2, fertilizerService.backfillNutrients());
+    assertEquals(0, fertilizerService.backfillNutrients());
+
+    mockMvc.perform(get("/fertilizers").param("minN", "15").param("minK", "15")
+            .with(user("admin").roles("ADMIN")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].id").value(fourth))
+        .andExpect(jsonPath("$[0].phosphorus").value(5.0));
+  }
+}
@@ -0,0 +1,157 @@
+package com.betrybe.agrix.evaluation;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.evaluation.util.SimpleResultHandler;
+import com.betrybe.agrix.model.entities.Crop;
+import com.betrybe.agrix.model.entities.Farm;
+import com.betrybe.agrix.model.repositories.CropRepository;
+import com.betrybe.agrix.model.repositories.FarmRepository;
+import com.betrybe.agrix.util.InMemoryIndexLoader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Calendário de colheitas por semana e por mês")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class HarvestCalendarTest {
+
+  MockMvc mockMvc;
+
+  @Autowired
+  WebApplicationContext wac;
+
+  @Autowired
+  FarmRepository farmRepository;
+
+  @Autowired
+  CropRepository cropRepository;
+
+  @Autowired
+  InMemoryIndexLoader inMemoryIndexLoader;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  Farm farm;
+
+  Farm otherFarm;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    this.mockMvc = MockMvcBuilders
+        .webAppContextSetup(wac)
+        .apply(springSecurity())
+        .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+        .alwaysDo(new SimpleResultHandler())
+        .build();
+
+    farm = farmRepository.save(new Farm(null, "Fazenda Boa Vista", 10.0));
+    otherFarm = farmRepository.save(new Farm(null, "Fazenda Vista Alegre", 5.0));
+
+    createCrop(farm, "Milho", 2.0, "2023-02-06");
+    createCrop(farm, "Soja", 3.0, "2023-02-12");
+    createCrop(farm, "Arroz", 1.5, "2023-02-13");
+    createCrop(otherFarm, "Feijão", 4.0, "2023-03-01");
+  }
+
+  @Test
+  @DisplayName("GET /crops/calendar agrupa por semana ISO e por fazenda")
+  void testWeeklyCalendar() throws Exception {
+    mockMvc.perform(get("/crops/calendar")
+            .param("granularity", "week")
+            .param("from", "2023-01-01")
+            .param("to", "2023-12-31")
+            .with(user("manager").roles("MANAGER")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(3))
+        .andExpect(jsonPath("$[0].farmId").value(farm.getId()))
+        .andExpect(jsonPath("$[0].period").value("2023-W06"))
+        .andExpect(jsonPath("$[0].periodStart").value("2023-02-06"))
+        .andExpect(jsonPath("$[0].cropCount").value(2))
+        .andExpect(jsonPath("$[0].plantedArea").value(5.0))
+        .andExpect(jsonPath("$[1].period").value("2023-W07"))
+        .andExpect(jsonPath("$[1].cropCount").value(1))
+        .andExpect(jsonPath("$[2].farmId").value(otherFarm.getId()))
+        .andExpect(jsonPath("$[2].period").value("2023-W09"));
+  }
+
+  @Test
+  @DisplayName("GET /crops/calendar agrupa por mês e filtra pela fazenda e pelas datas")
+  void testMonthlyCalendar() throws Exception {
+    mockMvc.perform(get("/crops/calendar")
+            .param("granularity", "month")
+            .param("from", "2023-02-20")
+            .param("to", "2023-12-31")
+            .param("farmId", farm.getId().toString())
+            .with(user("manager").roles("MANAGER")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].period").value("2023-02"))
+        .andExpect(jsonPath("$[0].cropCount").value(3))
+        .andExpect(jsonPath("$[0].plantedArea").value(6.5));
+
+    mockMvc.perform(get("/crops/calendar")
+            .param("granularity", "day")
+            .param("from", "2023-01-01")
+            .param("to", "2023-12-31")
+            .with(user("manager").roles("MANAGER")))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("As plantações alteradas mudam de período e as carregadas do banco são contadas")
+  void testUpdateAndLoad() throws Exception {
+    Crop crop = cropRepository.findAll().stream()
+        .filter(found -> found.getName().equals("Arroz"))
+        .findFirst().orElseThrow();
+    crop.setHarverstDate(LocalDate.parse("2023-04-10"));
+    cropRepository.save(crop);
+
+    jdbcTemplate.update("INSERT INTO crop (id, name, planted_area, farm_id, planting_date,"
+        + " harvest_date, version) VALUES (999, 'Trigo', 1.0, ?, '2023-01-01', '2023-04-20', 0)",
+        farm.getId());
+    inMemoryIndexLoader.load();
+
+    mockMvc.perform(get("/crops/calendar")
+            .param("from", "2023-01-01")
+            .param("to", "2023-12-31")
+            .param("farmId", farm.getId().toString())
+            .with(user("admin").roles("ADMIN")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[0].period").value("2023-02"))
+        .andExpect(jsonPath("$[0].cropCount").value(2))
+        .andExpect(jsonPath("$[1].period").value("2023-04"))
+        .andExpect(jsonPath("$[1].cropCount").value(2))
+        .andExpect(jsonPath("$[1].plantedArea").value(2.5));
+  }
+
+  private void createCrop(Farm owner, String name, double plantedArea, String harvestDate)
+      throws Exception {
+    mockMvc.perform(post("/farms/" + owner.getId() + "/crops")
+            .with(user("admin").roles("ADMIN"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"name\": \"" + name + "\", \"plantedArea\": " + plantedArea
+                + ", \"plantedDate\": \"2023-01-01\", \"harvestDate\": \"" + harvestDate + "\"}"))
+        .andExpect(status().isCreated());
+  }
+}
@@ -0,0 +1,132 @@
+package com.betrybe.agrix.evaluation;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.evaluation.util.SimpleResultHandler;
+import com.betrybe.agrix.model.entities.Crop;
+import com.betrybe.agrix.model.entities.Farm;
+import com.betrybe.agrix.model.entities.Fertilizer;
+import com.betrybe.agrix.model.repositories.CropRepository;
+import com.betrybe.agrix.model.repositories.FarmRepository;
+import com.betrybe.agrix.model.repositories.FertilizerRepository;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Paginação por cursor")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class KeysetPaginationTest {
+
+  MockMvc mockMvc;
+
+  @Autowired
+  WebApplicationContext wac;
+
+  @Autowired
+  FarmRepository farmRepository;
+
+  @Autowired
+  CropRepository cropRepository;
+
+  @Autowired
+  FertilizerRepository fertilizerRepository;
+
+  List<Farm> farms;
+
+  List<Crop> crops;
+
+  List<Fertilizer> fertilizers;
+
+  @BeforeEach
+  public void setup() {
+    this.mockMvc = MockMvcBuilders
+        .webAppContextSetup(wac)
+        .apply(springSecurity())
+        .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+        .alwaysDo(new SimpleResultHandler())
+        .build();
+
+    farms = farmRepository.saveAll(List.of(
+        new Farm(null, "Fazenda 1", 10.0),
+        new Farm(null, "Fazenda 2", 20.0),
+        new Farm(null, "Fazenda 3", 30.0)
+    ));
+    LocalDate date = LocalDate.parse("2023-01-01");
+    crops = cropRepository.saveAll(List.of(
+        new Crop("Milho", 1.0, farms.get(0), date, date),
+        new Crop("Soja", 2.0, farms.get(1), date, date),
+        new Crop("Arroz", 3.0, farms.get(2), date, date)
+    ));
+    fertilizers = fertilizerRepository.saveAll(List.of(
+        new Fertilizer(null, "Compostagem", "Feita em casa", "Restos de alimentos"),
+        new Fertilizer(null, "Húmus", "Feito pelas minhocas", "Muitos nutrientes"),
+        new Fertilizer(null, "Adubo", "Feito pelas vacas", "Esterco")
+    ));
+  }
+
+  @Test
+  @DisplayName("GET /farms pagina pelo id e devolve o próximo cursor")
+  void testFarmsPagination() throws Exception {
+    String cursor = farms.get(1).getId().toString();
+
+    mockMvc.perform(get("/farms").param("limit", "2")
+            .with(user("user").roles("USER"))
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[0].name").value("Fazenda 1"))
+        .andExpect(header().string("X-Next-Cursor", cursor));
+
+    mockMvc.perform(get("/farms").param("after", cursor).param("limit", "2")
+            .with(user("user").roles("USER"))
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].name").value("Fazenda 3"))
+        .andExpect(header().doesNotExist("X-Next-Cursor"));
+  }
+
+  @Test
+  @DisplayName("GET /crops pagina pelo id e devolve o próximo cursor")
+  void testCropsPagination() throws Exception {
+    mockMvc.perform(get("/crops").param("after", crops.get(0).getId().toString())
+            .param("limit", "1")
+            .with(user("manager").roles("MANAGER"))
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].name").value("Soja"))
+        .andExpect(jsonPath("$[0].farmId").value(farms.get(1).getId()))
+        .andExpect(header().string("X-Next-Cursor", crops.get(1).getId().toString()));
+  }
+
+  @Test
+  @DisplayName("GET /fertilizers pagina pelo id e devolve o próximo cursor")
+  void testFertilizersPagination() throws Exception {
+    mockMvc.perform(get("/fertilizers").param("after", fertilizers.get(1).getId().toString())
+            .with(user("admin").roles("ADMIN"))
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].name").value("Adubo"))
+        .andExpect(header().doesNotExist("X-Next-Cursor"));
+  }
+}
@@ -0,0 +1,162 @@
+package com.betrybe.agrix.evaluation;
+
+import static com.betrybe.agrix.evaluation.util.TestHelpers.objectToJson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.ebytr.staff.entity.Person;
+import com.betrybe.agrix.ebytr.staff.exception.PersonNotFoundException;
+import com.betrybe.agrix.ebytr.staff.service.PersonService;
+import com.betrybe.agrix.evaluation.mock.PersonFixtures;
+import com.betrybe.agrix.evaluation.util.SimpleResultHandler;
+import com.betrybe.agrix.util.ServiceMetricsAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Histogramas de latência por rota e por serviço")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class LatencyMetricsTest {
+
+  MockMvc mockMvc;
+
+  @Autowired
+  WebApplicationContext wac;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @Autowired
+  PersonService personService;
+
+  @Autowired
+  FilterRegistrationBean<ServerHttpObservationFilter> observationFilter;
+
+  @BeforeEach
+  public void setup() {
+    this.mockMvc = MockMvcBuilders
+        .webAppContextSetup(wac)
+        .addFilters(observationFilter.getFilter())
+        .apply(springSecurity())
+        .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+        .alwaysDo(new SimpleResultHandler())
+        .build();
+  }
+
+  @Test
+  @DisplayName("GET /farms registra a latência da rota por papel, com p50, p95 e p99")
+  void testEndpointTimer() throws Exception {
+    mockMvc.perform(get("/farms").with(user("user").roles("USER")))
+        .andExpect(status().isOk());
+
+    Timer timer = meterRegistry.find("http.server.requests")
+        .tags("uri", "/farms", "method", "GET", "outcome", "SUCCESS", "role", "USER")
+        .timer();
+
+    assertNotNull(timer);
+    assertEquals(1, timer.count());
+    Set<Double> percentiles = Arrays.stream(timer.takeSnapshot().percentileValues())
+        .map(value -> value.percentile())
+        .collect(Collectors.toSet());
+    assertEquals(Set.of(0.5, 0.95, 0.99), percentiles);
+  }
+
+  @Test
+  @DisplayName("Os métodos dos serviços registram a latência por resultado e papel")
+  void testServiceTimer() throws Exception {
+    mockMvc.perform(get("/farms/9999/summary").with(user("admin").roles("ADMIN")))
+        .andExpect(status().isNotFound());
+    mockMvc.perform(get("/farms/summary").with(user("admin").roles("ADMIN")))
+        .andExpect(status().isOk());
+
+    Timer notFound = meterRegistry.find(ServiceMetricsAspect.METRIC)
+        .tags("class", "FarmService", "method", "getFarmSummary",
+            "outcome", "CLIENT_ERROR", "role", "ADMIN")
+        .timer();
+    Timer success = meterRegistry.find(ServiceMetricsAspect.METRIC)
+        .tags("class", "FarmService", "method", "getFarmSummaries",
+            "outcome", "SUCCESS", "role", "ADMIN")
+        .timer();
+
+    assertNotNull(notFound);
+    assertEquals(1, notFound.count());
+    assertNotNull(success);
+    assertEquals(3, success.takeSnapshot().percentileValues().length);
+  }
+
+  @Test
+  @DisplayName("As requisições barradas pela segurança também registram o papel")
+  void testRejectedRequestsHaveRole() throws Exception {
+    mockMvc.perform(get("/farms"))
+        .andExpect(status().isForbidden());
+    mockMvc.perform(get("/actuator/slowqueries").with(user("manager").roles("MANAGER")))
+        .andExpect(status().isForbidden());
+
+    assertNotNull(meterRegistry.find("http.server.requests")
+        .tags("status", "403", "role", "ANONYMOUS")
+        .timer());
+    assertNotNull(meterRegistry.find("http.server.requests")
+        .tags("status", "403", "role", "MANAGER")
+        .timer());
+    meterRegistry.find("http.server.requests").timers().forEach(timer ->
+        assertNotNull(timer.getId().getTag("role"), timer.getId().toString()));
+  }
+
+  @Test
+  @DisplayName("Os serviços do módulo de pessoas também registram a latência")
+  void testStaffServiceTimer() throws Exception {
+    mockMvc.perform(post("/persons")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectToJson(PersonFixtures.person_user)))
+        .andExpect(status().isCreated());
+
+    Timer timer = meterRegistry.find(ServiceMetricsAspect.METRIC)
+        .tags("class", "PersonService", "method", "create", "outcome", "SUCCESS")
+        .timer();
+    assertNotNull(timer);
+    assertEquals(1, timer.count());
+  }
+
+  @Test
+  @DisplayName("Exceções de recurso inexistente são erros do cliente, as demais do servidor")
+  void testServiceOutcomes() {
+    assertThrows(PersonNotFoundException.class, () -> personService.getPersonById(9999L));
+    assertThrows(IllegalArgumentException.class, () -> personService.create(new Person()));
+
+    Timer clientError = meterRegistry.find(ServiceMetricsAspect.METRIC)
+        .tags("class", "PersonService", "method", "getPersonById", "outcome", "CLIENT_ERROR")
+        .timer();
+    Timer serverError = meterRegistry.find(ServiceMetricsAspect.METRIC)
+        .tags("class", "PersonService", "method", "create", "outcome", "SERVER_ERROR")
+        .timer();
+
+    assertNotNull(clientError);
+    assertEquals(1, clientError.count());
+    assertNotNull(serverError);
+    assertEquals(1, serverError.count());
+  }
+}
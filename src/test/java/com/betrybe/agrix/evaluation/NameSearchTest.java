@@ -0,0 +1,196 @@
+package com.betrybe.agrix.evaluation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.evaluation.util.SimpleResultHandler;
+import com.betrybe.agrix.evaluation.util.SqlStatementRecorder;
+import com.betrybe.agrix.model.entities.Crop;
+import com.betrybe.agrix.model.entities.Farm;
+import com.betrybe.agrix.model.entities.Fertilizer;
+import com.betrybe.agrix.model.repositories.CropRepository;
+import com.betrybe.agrix.model.repositories.FarmRepository;
+import com.betrybe.agrix.model.repositories.FertilizerRepository;
+import com.betrybe.agrix.util.TrigramIndex;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.betrybe.agrix.evaluation.util.SqlStatementRecorder"
+})
+@ActiveProfiles("test")
+@DisplayName("Busca de plantações e fertilizantes por nome")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class NameSearchTest {
+
+  MockMvc mockMvc;
+
+  @Autowired
+  WebApplicationContext wac;
+
+  @Autowired
+  FarmRepository farmRepository;
+
+  @Autowired
+  CropRepository cropRepository;
+
+  @Autowired
+  FertilizerRepository fertilizerRepository;
+
+  Farm farm;
+
+  List<Crop> crops;
+
+  @BeforeEach
+  public void setup() {
+    this.mockMvc = MockMvcBuilders
+        .webAppContextSetup(wac)
+        .apply(springSecurity())
+        .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+        .alwaysDo(new SimpleResultHandler())
+        .build();
+
+    farm = farmRepository.save(new Farm(null, "Fazenda Boa Vista", 10.0));
+    LocalDate planted = LocalDate.parse("2023-01-10");
+    LocalDate harvest = LocalDate.parse("2023-05-01");
+    crops = cropRepository.saveAll(List.of(
+        new Crop("Milho Verde", 1.0, farm, planted, harvest),
+        new Crop("Milheto", 1.0, farm, planted, harvest),
+        new Crop("Milho", 1.0, farm, planted, harvest),
+        new Crop("Feijão", 1.0, farm, planted, harvest)
+    ));
+
+    fertilizerRepository.saveAll(List.of(
+        new Fertilizer(null, "Sulfato de Amônio", "Ureia Brasil", "21-0-0"),
+        new Fertilizer(null, "Uréia", "Yara", "46-0-0"),
+        new Fertilizer(null, "Cloreto de Potássio", "Heringer", "0-0-60")
+    ));
+  }
+
+  @Test
+  @DisplayName("GET /crops/search/name ordena por prefixo e tolera acentos e erros")
+  void testSearchCropsByName() throws Exception {
+    SqlStatementRecorder.clear();
+
+    mockMvc.perform(get("/crops/search/name").param("q", "milh")
+            .with(user("user").roles("USER"))
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(3))
+        .andExpect(jsonPath("$[0].name").value("Milho"))
+        .andExpect(jsonPath("$[1].name").value("Milheto"))
+        .andExpect(jsonPath("$[2].name").value("Milho Verde"));
+
+    mockMvc.perform(get("/crops/search/name").param("q", "FEIJAO").param("limit", "1")
+            .with(user("user").roles("USER")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].name").value("Feijão"));
+
+    mockMvc.perform(get("/crops/search/name").param("q", "mlho")
+            .with(user("user").roles("USER")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].name").value("Milho"));
+
+    mockMvc.perform(get("/crops/search/name").param("q", "soja")
+            .with(user("user").roles("USER")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(0));
+
+    assertEquals(List.of(), SqlStatementRecorder.getStatements());
+  }
+
+  @Test
+  @DisplayName("GET /fertilizers/search busca por nome e marca, nome primeiro")
+  void testSearchFertilizers() throws Exception {
+    SqlStatementRecorder.clear();
+
+    mockMvc.perform(get("/fertilizers/search").param("q", "ureia")
+            .with(user("admin").roles("ADMIN"))
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[0].name").value("Uréia"))
+        .andExpect(jsonPath("$[1].brand").value("Ureia Brasil"));
+
+    mockMvc.perform(get("/fertilizers/search").param("q", "ureia")
+            .with(user("user").roles("USER")))
+        .andExpect(status().isForbidden());
+
+    assertEquals(List.of(), SqlStatementRecorder.getStatements());
+  }
+
+  @Test
+  @DisplayName("O índice de nomes acompanha as escritas")
+  void testIndexFollowsWrites() throws Exception {
+    mockMvc.perform(post("/fertilizers")
+            .with(user("admin").roles("ADMIN"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("""
+                {
+                  "name": "Superfosfato Simples",
+                  "brand": "Heringer",
+                  "composition": "0-18-0"
+                }
+                """))
+        .andExpect(status().isCreated());
+
+    mockMvc.perform(get("/fertilizers/search").param("q", "superf")
+            .with(user("admin").roles("ADMIN")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].composition").value("0-18-0"));
+
+    Crop corn = crops.get(2);
+    corn.setName("Sorgo");
+    cropRepository.save(corn);
+    cropRepository.delete(crops.get(1));
+
+    mockMvc.perform(get("/crops/search/name").param("q", "milh")
+            .with(user("user").roles("USER")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].name").value("Milho Verde"));
+
+    mockMvc.perform(get("/crops/search/name").param("q", "sorg")
+            .with(user("user").roles("USER")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].id").value(corn.getId()));
+  }
+
+  @Test
+  @DisplayName("O índice de trigramas encontra nomes parciais em milhares de entradas")
+  void testTrigramIndexScales() {
+    TrigramIndex<Long> index = new TrigramIndex<>();
+    for (long id = 0; id < 20_000; id++) {
+      index.put(id, id, "Cultivar " + id, "Marca " + (id % 100));
+    }
+    index.put(20_000L, 20_000L, "Milho Safrinha", "Marca 1");
+
+    List<Long> found = index.search("safr", 10);
+    assertEquals(List.of(20_000L), found);
+    assertEquals(10, index.search("cultivar 1", 10).size());
+    assertTrue(index.search("", 10).isEmpty());
+
+    index.remove(20_000L);
+    assertTrue(index.search("safr", 10).isEmpty());
+  }
+}
@@ -0,0 +1,104 @@
+package com.betrybe.agrix.evaluation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.betrybe.agrix.ebytr.staff.entity.Person;
+import com.betrybe.agrix.ebytr.staff.repository.PersonRepository;
+import com.betrybe.agrix.ebytr.staff.security.Role;
+import com.betrybe.agrix.ebytr.staff.service.PersonService;
+import com.betrybe.agrix.ebytr.staff.service.PrincipalCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Cache das pessoas autenticadas")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class PrincipalCacheTest {
+
+  @Autowired
+  PersonService personService;
+
+  @Autowired
+  PersonRepository personRepository;
+
+  @Autowired
+  PrincipalCache principalCache;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @Test
+  @DisplayName("A pessoa é lida do banco uma vez e invalidada quando muda")
+  void testCacheHitAndInvalidation() {
+    Person person = personRepository.save(new Person("maria", "senhasecreta", "USER"));
+
+    personService.getPrincipalByUsername("maria");
+    personService.getPrincipalByUsername("maria");
+
+    assertEquals(1.0, cacheGets("miss"));
+    assertEquals(1.0, cacheGets("hit"));
+
+    person.setRole(Role.MANAGER);
+    personRepository.save(person);
+
+    Person cached = personService.getPrincipalByUsername("maria");
+
+    assertEquals(Role.MANAGER, cached.getRole());
+    assertEquals(2.0, cacheGets("miss"));
+  }
+
+  @Test
+  @DisplayName("A pessoa só é invalidada quando a alteração é confirmada")
+  void testInvalidationAfterCommit() {
+    personRepository.save(new Person("maria", "senhasecreta", "USER"));
+    personService.getPrincipalByUsername("maria");
+
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      Person person = personService.getPersonByUsername("maria");
+      person.setRole(Role.MANAGER);
+      personRepository.saveAndFlush(person);
+
+      assertEquals(Role.USER, personService.getPrincipalByUsername("maria").getRole());
+    });
+
+    assertEquals(Role.MANAGER, personService.getPrincipalByUsername("maria").getRole());
+    assertEquals(2.0, cacheGets("miss"));
+  }
+
+  @Test
+  @DisplayName("Uma leitura anterior à invalidação não volta para o cache")
+  void testLoadRacingInvalidation() {
+    personRepository.save(new Person("maria", "senhasecreta", "USER"));
+
+    Person stale = principalCache.get("maria", username -> {
+      Person loaded = personService.getPersonByUsername(username);
+      Person changed = personService.getPersonByUsername(username);
+      changed.setRole(Role.MANAGER);
+      personRepository.save(changed);
+      return loaded;
+    });
+
+    assertEquals(Role.USER, stale.getRole());
+    assertEquals(Role.MANAGER, personService.getPrincipalByUsername("maria").getRole());
+    assertEquals(2.0, cacheGets("miss"));
+  }
+
+  private double cacheGets(String result) {
+    return meterRegistry.get("cache.gets")
+        .tag("cache", "principals")
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+}
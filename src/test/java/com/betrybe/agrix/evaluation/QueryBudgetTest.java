@@ -0,0 +1,168 @@
+package com.betrybe.agrix.evaluation;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.evaluation.util.SimpleResultHandler;
+import com.betrybe.agrix.exceptions.QueryBudgetExceededException;
+import com.betrybe.agrix.model.entities.Crop;
+import com.betrybe.agrix.model.entities.Farm;
+import com.betrybe.agrix.model.entities.Fertilizer;
+import com.betrybe.agrix.model.repositories.CropRepository;
+import com.betrybe.agrix.model.repositories.FarmRepository;
+import com.betrybe.agrix.model.repositories.FertilizerRepository;
+import com.betrybe.agrix.util.QueryCountInspector;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * Runs every route of /farms, /crops and /fertilizers in the FAIL query budget
+ * mode of the test profile, in which a statement over the budget declared by
+ * the route fails the request.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Limite de consultas por rota")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class QueryBudgetTest {
+
+  MockMvc mockMvc;
+
+  @Autowired
+  WebApplicationContext wac;
+
+  @Autowired
+  FarmRepository farmRepository;
+
+  @Autowired
+  CropRepository cropRepository;
+
+  @Autowired
+  FertilizerRepository fertilizerRepository;
+
+  Farm farm;
+
+  Crop crop;
+
+  Fertilizer fertilizer;
+
+  Fertilizer otherFertilizer;
+
+  @BeforeEach
+  public void setup() {
+    this.mockMvc = MockMvcBuilders
+        .webAppContextSetup(wac)
+        .apply(springSecurity())
+        .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+        .alwaysDo(new SimpleResultHandler())
+        .build();
+
+    farm = farmRepository.save(new Farm(null, "Fazenda Boa Vista", 10.0));
+    fertilizer = fertilizerRepository.save(new Fertilizer(null, "Compostagem",
+        "Feita em casa", "Restos de alimentos"));
+    otherFertilizer = fertilizerRepository.save(new Fertilizer(null, "Húmus",
+        "Feito pelas minhocas", "Solo e minhocas"));
+
+    List<Crop> crops = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      crops.add(new Crop("Plantação " + i, 1.0, farm, LocalDate.parse("2023-01-01"),
+          LocalDate.parse("2023-03-01").plusDays(i)));
+    }
+    crops = cropRepository.saveAll(crops);
+
+    crop = crops.get(0);
+    crop.setFertilizers(new ArrayList<>(List.of(fertilizer)));
+    crop = cropRepository.save(crop);
+  }
+
+  private void assertWithinBudget(MockHttpServletRequestBuilder request) throws Exception {
+    mockMvc.perform(request.with(user("admin").roles("ADMIN")))
+        .andExpect(status().is2xxSuccessful());
+  }
+
+  @Test
+  @DisplayName("Rotas de /farms respeitam o limite de consultas")
+  void testFarmRoutes() throws Exception {
+    assertWithinBudget(post("/farms")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"name\": \"Fazenda Nova\", \"size\": 3.5}"));
+    assertWithinBudget(get("/farms"));
+    assertWithinBudget(get("/farms").param("limit", "5"));
+    assertWithinBudget(get("/farms/summary"));
+    assertWithinBudget(get("/farms/" + farm.getId() + "/summary"));
+    assertWithinBudget(get("/farms/" + farm.getId()));
+    assertWithinBudget(get("/farms/" + farm.getId() + "/crops"));
+    assertWithinBudget(post("/farms/" + farm.getId() + "/crops")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"name\": \"Couve\", \"plantedArea\": 1.5,"
+            + " \"plantedDate\": \"2023-02-01\", \"harvestDate\": \"2023-05-01\"}"));
+  }
+
+  @Test
+  @DisplayName("Rotas de /crops respeitam o limite de consultas")
+  void testCropRoutes() throws Exception {
+    assertWithinBudget(get("/crops"));
+    assertWithinBudget(get("/crops").param("limit", "5"));
+    assertWithinBudget(get("/crops/" + crop.getId()));
+    assertWithinBudget(get("/crops/search")
+        .param("start", "2023-01-01")
+        .param("end", "2023-12-31"));
+    assertWithinBudget(get("/crops/search/name").param("q", "cou"));
+    assertWithinBudget(get("/crops/" + crop.getId() + "/fertilizers"));
+    assertWithinBudget(post("/crops/" + crop.getId() + "/fertilizers/"
+        + otherFertilizer.getId()));
+    assertWithinBudget(post("/crops/" + crop.getId() + "/fertilizers")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("[%d, %d]".formatted(fertilizer.getId(), otherFertilizer.getId())));
+  }
+
+  @Test
+  @DisplayName("Rotas de /fertilizers respeitam o limite de consultas")
+  void testFertilizerRoutes() throws Exception {
+    assertWithinBudget(post("/fertilizers")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"name\": \"Adubo\", \"brand\": \"Marca\", \"composition\": \"NPK\"}"));
+    assertWithinBudget(get("/fertilizers"));
+    assertWithinBudget(get("/fertilizers").param("limit", "5"));
+    assertWithinBudget(get("/fertilizers").param("minN", "10").param("minK", "5"));
+    assertWithinBudget(get("/fertilizers/" + fertilizer.getId()));
+    assertWithinBudget(get("/fertilizers/search").param("q", "adu"));
+  }
+
+  @Test
+  @DisplayName("Consulta acima do limite falha no modo FAIL")
+  void testStatementOverBudgetFails() {
+    QueryCountInspector.start("teste", 0, true);
+    try {
+      RuntimeException exception = assertThrows(RuntimeException.class,
+          () -> farmRepository.findAll());
+
+      Throwable cause = exception;
+      while (!(cause instanceof QueryBudgetExceededException) && cause.getCause() != null) {
+        cause = cause.getCause();
+      }
+      assertTrue(cause instanceof QueryBudgetExceededException);
+    } finally {
+      QueryCountInspector.stop();
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package com.betrybe.agrix.evaluation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.model.entities.Crop;
+import com.betrybe.agrix.model.entities.Farm;
+import com.betrybe.agrix.model.repositories.CropRepository;
+import com.betrybe.agrix.model.repositories.FarmRepository;
+import com.betrybe.agrix.util.KeysetPagination;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Leitura reativa de fazendas e plantações")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class ReactiveReadTest {
+
+  private static final int CROP_COUNT = 20;
+
+  MockMvc mockMvc;
+
+  @Autowired
+  WebApplicationContext wac;
+
+  @Autowired
+  ObjectMapper objectMapper;
+
+  @Autowired
+  FarmRepository farmRepository;
+
+  @Autowired
+  CropRepository cropRepository;
+
+  @BeforeEach
+  public void setup() {
+    this.mockMvc = MockMvcBuilders
+        .webAppContextSetup(wac)
+        .apply(springSecurity())
+        .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+        .build();
+
+    Farm farm = farmRepository.save(new Farm(null, "Fazenda Boa Vista", 10.0));
+    farmRepository.save(new Farm(null, "Fazenda Vazia", 5.0));
+    List<Crop> crops = new ArrayList<>();
+    for (int i = 0; i < CROP_COUNT; i++) {
+      crops.add(new Crop("Plantação " + i, 1.0, farm, LocalDate.parse("2023-01-01"),
+          LocalDate.parse("2023-03-01").plusDays(i)));
+    }
+    cropRepository.saveAll(crops);
+  }
+
+  @Test
+  @DisplayName("GET /rx/crops transmite todas as plantações em NDJSON, página a página")
+  void testStreamCrops() throws Exception {
+    MvcResult asyncResult = mockMvc.perform(get("/rx/crops")
+            .param("pageSize", "7")
+            .with(user("manager").roles("MANAGER"))
+            .accept(MediaType.APPLICATION_NDJSON))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    String body = mockMvc.perform(asyncDispatch(asyncResult))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+        .andReturn().getResponse().getContentAsString();
+
+    String[] lines = body.split("\n");
+    assertEquals(CROP_COUNT, lines.length);
+
+    long previousId = 0;
+    for (String line : lines) {
+      long id = ((Number) objectMapper.readValue(line, Map.class).get("id")).longValue();
+      assertTrue(id > previousId);
+      previousId = id;
+    }
+  }
+
+  @Test
+  @DisplayName("GET /rx/farms transmite as fazendas como server-sent events")
+  void testStreamFarms() throws Exception {
+    MvcResult asyncResult = mockMvc.perform(get("/rx/farms")
+            .with(user("user").roles("USER"))
+            .accept(MediaType.TEXT_EVENT_STREAM))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    String body = mockMvc.perform(asyncDispatch(asyncResult))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+
+    assertEquals(2, body.split("data:").length - 1);
+    assertTrue(body.contains("Fazenda Vazia"));
+  }
+
+  @Test
+  @DisplayName("As páginas só são lidas quando o cliente pede mais linhas")
+  void testPagesAreReadOnDemand() {
+    AtomicInteger pagesRead = new AtomicInteger();
+
+    List<Long> firstRows = KeysetPagination.<Long>stream((after, pageable) -> {
+      pagesRead.incrementAndGet();
+      return LongStream.rangeClosed(after + 1, after + pageable.getPageSize())
+          .boxed().toList();
+    }, PageRequest.of(0, 10), id -> id)
+        .take(15)
+        .collectList()
+        .block();
+
+    assertEquals(15, firstRows.size());
+    assertEquals(15L, firstRows.get(14));
+    assertTrue(pagesRead.get() <= 3, "Leu " + pagesRead.get() + " páginas");
+  }
+}
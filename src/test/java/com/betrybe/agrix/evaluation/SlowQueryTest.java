@@ -0,0 +1,125 @@
+package com.betrybe.agrix.evaluation;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.evaluation.util.SimpleResultHandler;
+import com.betrybe.agrix.util.SqlStatementMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Instrumentação das consultas lentas")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class SlowQueryTest {
+
+  MockMvc mockMvc;
+
+  @Autowired
+  WebApplicationContext wac;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @Autowired
+  SqlStatementMonitor monitor;
+
+  @BeforeEach
+  public void setup() {
+    this.mockMvc = MockMvcBuilders
+        .webAppContextSetup(wac)
+        .apply(springSecurity())
+        .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+        .alwaysDo(new SimpleResultHandler())
+        .build();
+  }
+
+  @Test
+  @DisplayName("As consultas são registradas com a rota que as executou")
+  void testStatementsTaggedByEndpoint() throws Exception {
+    monitor.reset();
+    mockMvc.perform(get("/farms/9999").with(user("user").roles("USER")))
+        .andExpect(status().isNotFound());
+
+    Timer timer = meterRegistry.find(SqlStatementMonitor.METRIC)
+        .tags("endpoint", "GET /farms/{farmId}", "operation", "select")
+        .timer();
+    assertNotNull(timer);
+    assertEquals(1, timer.count());
+
+    mockMvc.perform(get("/actuator/slowqueries").with(user("admin").roles("ADMIN")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[?(@.slowestEndpoint == 'GET /farms/{farmId}')].sql",
+            hasItem(containsString("where f1_0.id=?"))));
+  }
+
+  @Test
+  @DisplayName("Consultas de menos de 1 ms são medidas em nanossegundos")
+  void testFastStatementsHaveDuration() throws Exception {
+    monitor.reset();
+    mockMvc.perform(get("/farms/9999").with(user("user").roles("USER")))
+        .andExpect(status().isNotFound());
+
+    Timer timer = meterRegistry.find(SqlStatementMonitor.METRIC)
+        .tags("endpoint", "GET /farms/{farmId}", "operation", "select")
+        .timer();
+    assertNotNull(timer);
+    assertTrue(timer.totalTime(TimeUnit.NANOSECONDS) > 0);
+    assertTrue(monitor.slowest(1).get(0).maxMillis() > 0);
+  }
+
+  @Test
+  @DisplayName("Só o ADMIN consulta /actuator/slowqueries")
+  void testOnlyAdmin() throws Exception {
+    mockMvc.perform(get("/actuator/slowqueries").with(user("manager").roles("MANAGER")))
+        .andExpect(status().isForbidden());
+  }
+
+  @Test
+  @DisplayName("DELETE /actuator/slowqueries limpa as estatísticas")
+  void testReset() throws Exception {
+    mockMvc.perform(get("/farms").with(user("user").roles("USER")))
+        .andExpect(status().isOk());
+
+    mockMvc.perform(delete("/actuator/slowqueries").with(user("admin").roles("ADMIN")))
+        .andExpect(status().isNoContent());
+
+    assertEquals(0, monitor.slowest(10).size());
+  }
+
+  @Test
+  @DisplayName("Literais e listas do IN são normalizados")
+  void testNormalization() {
+    SqlStatementMonitor localMonitor = new SqlStatementMonitor(Long.MAX_VALUE, 0);
+    localMonitor.record("select * from crop where id in (1, 2, 3) and name = 'Soja'", "A", 1);
+    localMonitor.record("select *  from crop where id in (4,5) and name = 'Milho'", "B", 5);
+
+    SqlStatementMonitor.SlowStatement statement = localMonitor.slowest(10).get(0);
+    assertEquals(1, localMonitor.slowest(10).size());
+    assertEquals("select * from crop where id in (?...) and name = ?", statement.sql());
+    assertEquals(2, statement.count());
+    assertEquals("B", statement.slowestEndpoint());
+  }
+}
@@ -0,0 +1,70 @@
+package com.betrybe.agrix.evaluation;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.betrybe.agrix.ebytr.staff.entity.Person;
+import com.betrybe.agrix.ebytr.staff.repository.PersonRepository;
+import com.betrybe.agrix.ebytr.staff.service.TokenService;
+import com.betrybe.agrix.evaluation.util.SimpleResultHandler;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(properties = "api.security.stateless=true")
+@ActiveProfiles("test")
+@DisplayName("Autenticação sem estado")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class StatelessAuthenticationTest {
+
+  MockMvc mockMvc;
+
+  @Autowired
+  WebApplicationContext wac;
+
+  @Autowired
+  PersonRepository personRepository;
+
+  @Autowired
+  TokenService tokenService;
+
+  @BeforeEach
+  public void setup() {
+    this.mockMvc = MockMvcBuilders
+        .webAppContextSetup(wac)
+        .apply(springSecurity())
+        .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+        .alwaysDo(new SimpleResultHandler())
+        .build();
+  }
+
+  @Test
+  @DisplayName("A role do token é usada sem buscar a pessoa no banco")
+  void testRoleFromClaims() throws Exception {
+    Person person = personRepository.save(new Person("maria", "senhasecreta", "USER"));
+    String token = tokenService.generateToken(person);
+
+    // The person no longer exists, so only the token claims can authorize the request
+    personRepository.delete(person);
+
+    mockMvc.perform(get("/farms")
+            .header("Authorization", "Bearer " + token)
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk());
+
+    mockMvc.perform(get("/crops")
+            .header("Authorization", "Bearer " + token)
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isForbidden());
+  }
+}
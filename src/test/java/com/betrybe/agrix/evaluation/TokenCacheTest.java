@@ -0,0 +1,104 @@
+package com.betrybe.agrix.evaluation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.SignatureVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.betrybe.agrix.ebytr.staff.entity.Person;
+import com.betrybe.agrix.ebytr.staff.service.TokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Cache dos tokens verificados")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class TokenCacheTest {
+
+  @Autowired
+  TokenService tokenService;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @Value("${api.security.token.secret}")
+  String secret;
+
+  @Test
+  @DisplayName("Um token repetido é servido pelo cache")
+  void testRepeatedTokenIsCached() {
+    String token = tokenService.generateToken(new Person("maria", "senhasecreta", "USER"));
+
+    DecodedJWT first = tokenService.verifyToken(token);
+    DecodedJWT second = tokenService.verifyToken(token);
+
+    assertSame(first, second);
+    assertEquals("maria", tokenService.validateToken(token));
+    assertEquals(1.0, cacheGets("miss"));
+    assertEquals(2.0, cacheGets("hit"));
+  }
+
+  @Test
+  @DisplayName("Um token adulterado é rejeitado mesmo com o original no cache")
+  void testTamperedTokenIsRejected() {
+    String token = tokenService.generateToken(new Person("maria", "senhasecreta", "USER"));
+    tokenService.verifyToken(token);
+
+    String[] parts = token.split("\\.");
+    String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+        .replace("\"USER\"", "\"ADMIN\"");
+    String tampered = parts[0] + "."
+        + Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(payload.getBytes(StandardCharsets.UTF_8))
+        + "." + parts[2];
+
+    assertThrows(SignatureVerificationException.class, () -> tokenService.verifyToken(tampered));
+    assertThrows(SignatureVerificationException.class, () -> tokenService.verifyToken(tampered));
+  }
+
+  @Test
+  @DisplayName("Um token expirado é rejeitado, mesmo depois de verificado")
+  void testExpiredTokenIsRejected() throws Exception {
+    Algorithm algorithm = Algorithm.HMAC256(secret);
+    String expired = JWT.create()
+        .withIssuer("agrix")
+        .withSubject("maria")
+        .withExpiresAt(Instant.now().minusSeconds(60))
+        .sign(algorithm);
+
+    assertThrows(TokenExpiredException.class, () -> tokenService.verifyToken(expired));
+
+    Instant expiresAt = Instant.now().plusSeconds(2);
+    String expiring = JWT.create()
+        .withIssuer("agrix")
+        .withSubject("maria")
+        .withExpiresAt(expiresAt)
+        .sign(algorithm);
+
+    assertEquals("maria", tokenService.validateToken(expiring));
+    Thread.sleep(Math.max(0, expiresAt.toEpochMilli() - System.currentTimeMillis()) + 1100);
+    assertThrows(TokenExpiredException.class, () -> tokenService.verifyToken(expiring));
+  }
+
+  private double cacheGets(String result) {
+    return meterRegistry.get("cache.gets")
+        .tag("cache", "verified_tokens")
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+}
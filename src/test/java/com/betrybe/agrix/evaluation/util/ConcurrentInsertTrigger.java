@@ -0,0 +1,41 @@
+package com.betrybe.agrix.evaluation.util;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.h2.api.Trigger;
+
+/**
+ * H2 trigger that, on the first insert it sees, commits a given statement from
+ *        another connection, as a concurrent request would.
+ */
+public class ConcurrentInsertTrigger implements Trigger {
+
+  private static final AtomicReference<Object[]> pending = new AtomicReference<>();
+
+  private static String url;
+
+  public static void arm(String databaseUrl, String sql, Object... parameters) {
+    url = databaseUrl;
+    pending.set(new Object[] {sql, parameters});
+  }
+
+  @Override
+  public void fire(Connection connection, Object[] oldRow, Object[] newRow) throws SQLException {
+    Object[] statement = pending.getAndSet(null);
+    if (statement == null) {
+      return;
+    }
+
+    Object[] parameters = (Object[]) statement[1];
+    try (Connection other = DriverManager.getConnection(url, "sa", "");
+        PreparedStatement insert = other.prepareStatement((String) statement[0])) {
+      for (int i = 0; i < parameters.length; i++) {
+        insert.setObject(i + 1, parameters[i]);
+      }
+      insert.executeUpdate();
+    }
+  }
+}